@@ -0,0 +1,124 @@
+package org.swtchart.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.compress.ICompress;
+import org.swtchart.internal.compress.CompressBarSeries;
+import org.swtchart.internal.compress.CompressLargestTriangleSeries;
+import org.swtchart.internal.compress.CompressLineSeries;
+import org.swtchart.internal.compress.CompressMinMaxLineSeries;
+import org.swtchart.internal.compress.CompressScatterSeries;
+
+/**
+ * A benchmark to measure the heap allocation per compression.
+ * <p>
+ * The plot size is changed on every call as it is done while resizing the
+ * chart, so that each call actually recompresses the series. The allocation is
+ * measured with <tt>com.sun.management.ThreadMXBean</tt>, which is available
+ * on HotSpot based VMs.
+ */
+public class CompressAllocationBenchmark {
+
+    /** the number of data points */
+    private static final int NUM_POINTS = 1000000;
+
+    /** the number of warm-up iterations */
+    private static final int WARMUP = 20;
+
+    /** the number of measured iterations */
+    private static final int ITERATIONS = 50;
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     */
+    public static void main(String[] args) {
+        double[] xSeries = new double[NUM_POINTS];
+        double[] ySeries = new double[NUM_POINTS];
+        for (int i = 0; i < NUM_POINTS; i++) {
+            xSeries[i] = i;
+            ySeries[i] = Math.sin(i * 33 * Math.PI / NUM_POINTS)
+                    + Math.sin(i * 15 * Math.PI / NUM_POINTS)
+                    + Math.random() * 0.2;
+        }
+
+        CompressScatterSeries scatterWithLine = new CompressScatterSeries();
+        scatterWithLine.setLineVisible(true);
+
+        run("line", new CompressLineSeries(), xSeries, ySeries);
+        run("line (min/max)", new CompressMinMaxLineSeries(), xSeries, ySeries);
+        run("line (lttb)", new CompressLargestTriangleSeries(), xSeries,
+                ySeries);
+        run("scatter", new CompressScatterSeries(), xSeries, ySeries);
+        run("scatter (line visible)", scatterWithLine, xSeries, ySeries);
+        run("bar", new CompressBarSeries(), xSeries, ySeries);
+    }
+
+    /**
+     * Runs the benchmark for the given compressor.
+     *
+     * @param name
+     *            the name of compressor
+     * @param compressor
+     *            the compressor
+     * @param xSeries
+     *            the X series
+     * @param ySeries
+     *            the Y series
+     */
+    private static void run(String name, ICompress compressor,
+            double[] xSeries, double[] ySeries) {
+        compressor.setXSeries(xSeries);
+        compressor.setYSeries(ySeries);
+
+        CompressConfig config = new CompressConfig();
+        config.setXRange(-NUM_POINTS * 0.015, NUM_POINTS * 1.015);
+        config.setYRange(-2.5, 2.5);
+
+        for (int i = 0; i < WARMUP; i++) {
+            compress(compressor, config, i);
+        }
+
+        long start = System.nanoTime();
+        long allocated = getAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            compress(compressor, config, i);
+        }
+        allocated = getAllocatedBytes() - allocated;
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(name + ": " + allocated / ITERATIONS
+                + " bytes/call, " + elapsed / ITERATIONS / 1000 + " us/call, "
+                + compressor.getCompressedXSeries().length + " points");
+    }
+
+    /**
+     * Compresses with the plot size that differs from the previous call.
+     *
+     * @param compressor
+     *            the compressor
+     * @param config
+     *            the configuration for compression
+     * @param iteration
+     *            the iteration count
+     */
+    private static void compress(ICompress compressor, CompressConfig config,
+            int iteration) {
+        config.setSizeInPixel(2000 + iteration % 2 * 2, 1200);
+        compressor.compress(config);
+    }
+
+    /**
+     * Gets the number of bytes allocated by the current thread.
+     *
+     * @return the allocated bytes
+     */
+    private static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean()).getThreadAllocatedBytes(Thread
+                .currentThread().getId());
+    }
+}
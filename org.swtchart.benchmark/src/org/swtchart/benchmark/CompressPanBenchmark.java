@@ -0,0 +1,77 @@
+package org.swtchart.benchmark;
+
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.compress.ICompress;
+import org.swtchart.internal.compress.CompressLineSeries;
+
+/**
+ * A benchmark to measure the time of compression while panning over a large
+ * series.
+ * <p>
+ * X range is translated by 10% of its width on each call as it is done by
+ * scrolling axis. For comparison, the series is also compressed with the plot
+ * height that differs from the previous call, so that the previous compressed
+ * series cannot be reused.
+ */
+public class CompressPanBenchmark {
+
+    /** the number of data points */
+    private static final int NUM_POINTS = 10000000;
+
+    /** the number of data points in X range */
+    private static final int RANGE = 1000000;
+
+    /** the number of measured iterations */
+    private static final int ITERATIONS = 50;
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     */
+    public static void main(String[] args) {
+        double[] xSeries = new double[NUM_POINTS];
+        double[] ySeries = new double[NUM_POINTS];
+        for (int i = 0; i < NUM_POINTS; i++) {
+            xSeries[i] = i;
+            ySeries[i] = Math.sin(i * 33 * Math.PI / NUM_POINTS)
+                    + Math.random() * 0.2;
+        }
+
+        ICompress compressor = new CompressLineSeries();
+        compressor.setXSeries(xSeries);
+        compressor.setYSeries(ySeries);
+
+        // warm up
+        run(compressor, false);
+        run(compressor, true);
+
+        System.out.println("full: " + run(compressor, false) + " us/call");
+        System.out.println("incremental: " + run(compressor, true)
+                + " us/call");
+    }
+
+    /**
+     * Pans over the series.
+     *
+     * @param compressor
+     *            the compressor
+     * @param translated
+     *            true if only X range is changed on each call
+     * @return the average time in micro seconds
+     */
+    private static long run(ICompress compressor, boolean translated) {
+        CompressConfig config = new CompressConfig();
+        config.setYRange(-1.5, 1.5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            double lower = i * RANGE * 0.1;
+            config.setXRange(lower, lower + RANGE);
+            config.setSizeInPixel(2000, translated ? 1200 : 1200 + i % 2 * 2);
+            compressor.compress(config);
+        }
+        return (System.nanoTime() - start) / ITERATIONS / 1000;
+    }
+}
@@ -0,0 +1,105 @@
+package org.swtchart.benchmark;
+
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.compress.ICompress;
+import org.swtchart.internal.compress.CompressLineSeries;
+import org.swtchart.internal.compress.CompressMinMaxLineSeries;
+
+/**
+ * A benchmark to measure the time of compression while zooming into a large
+ * series.
+ * <p>
+ * The X range is narrowed from the whole series down to 1/1000 of it, and
+ * the series is compressed with the plot size that differs from the previous
+ * call on each iteration, so that each call actually recompresses the series.
+ */
+public class CompressZoomBenchmark {
+
+    /** the number of data points */
+    private static final int NUM_POINTS = 10000000;
+
+    /** the number of measured iterations */
+    private static final int ITERATIONS = 20;
+
+    /** the ratios of X range to the whole series */
+    private static final double[] ZOOM_RATIOS = { 1, 0.1, 0.01, 0.001 };
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     */
+    public static void main(String[] args) {
+        double[] xSeries = new double[NUM_POINTS];
+        double[] ySeries = new double[NUM_POINTS];
+        for (int i = 0; i < NUM_POINTS; i++) {
+            xSeries[i] = i;
+            ySeries[i] = Math.sin(i * 33 * Math.PI / NUM_POINTS)
+                    + Math.random() * 0.2;
+        }
+
+        run("line", new CompressLineSeries(), xSeries, ySeries);
+        run("line (min/max)", new CompressMinMaxLineSeries(), xSeries, ySeries);
+    }
+
+    /**
+     * Runs the benchmark for the given compressor.
+     *
+     * @param name
+     *            the name of compressor
+     * @param compressor
+     *            the compressor
+     * @param xSeries
+     *            the X series
+     * @param ySeries
+     *            the Y series
+     */
+    private static void run(String name, ICompress compressor,
+            double[] xSeries, double[] ySeries) {
+        long start = System.nanoTime();
+        compressor.setXSeries(xSeries);
+        compressor.setYSeries(ySeries);
+        System.out.println(name + ": " + (System.nanoTime() - start) / 1000000
+                + " ms to set series");
+
+        CompressConfig config = new CompressConfig();
+        config.setYRange(-1.5, 1.5);
+
+        for (double ratio : ZOOM_RATIOS) {
+            double lower = NUM_POINTS * (1 - ratio) / 2;
+            config.setXRange(lower, lower + NUM_POINTS * ratio);
+
+            // warm up
+            for (int i = 0; i < ITERATIONS; i++) {
+                compress(compressor, config, i);
+            }
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                compress(compressor, config, i);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println("  zoom " + ratio + ": " + elapsed
+                    / ITERATIONS / 1000 + " us/call, "
+                    + compressor.getCompressedXSeries().length + " points");
+        }
+    }
+
+    /**
+     * Compresses with the plot size that differs from the previous call.
+     *
+     * @param compressor
+     *            the compressor
+     * @param config
+     *            the configuration for compression
+     * @param iteration
+     *            the iteration count
+     */
+    private static void compress(ICompress compressor, CompressConfig config,
+            int iteration) {
+        config.setSizeInPixel(2000 + iteration % 2 * 2, 1200);
+        compressor.compress(config);
+    }
+}
@@ -0,0 +1,117 @@
+package org.swtchart.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.swtchart.ISeries.FileFormat;
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.internal.buffer.IndexSeriesBuffer;
+import org.swtchart.internal.buffer.MappedSeriesBuffer;
+import org.swtchart.internal.compress.CompressMinMaxLineSeries;
+
+/**
+ * A benchmark to measure the heap usage and the time of compression while
+ * zooming into a series mapped to a file.
+ * <p>
+ * A temporary file of little-endian float values is written, and mapped as Y
+ * series of compressor. The heap usage is compared with the size of the
+ * series loaded into <tt>double[]</tt>.
+ */
+public class MappedSeriesBenchmark {
+
+    /** the number of data points */
+    private static final int NUM_POINTS = 50000000;
+
+    /** the number of measured iterations */
+    private static final int ITERATIONS = 10;
+
+    /** the ratios of X range to the whole series */
+    private static final double[] ZOOM_RATIOS = { 1, 0.1, 0.01, 0.001 };
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     * @throws IOException
+     *             if the temporary file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        File file = File.createTempFile("series", ".bin");
+        file.deleteOnExit();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file)));
+        try {
+            for (int i = 0; i < NUM_POINTS; i++) {
+                float value = (float) (Math.sin(i * 33 * Math.PI / NUM_POINTS)
+                        + Math.random() * 0.2);
+                out.writeInt(Integer.reverseBytes(Float.floatToIntBits(value)));
+            }
+        } finally {
+            out.close();
+        }
+
+        long heap = getUsedHeap();
+        long start = System.nanoTime();
+        CompressMinMaxLineSeries compressor = new CompressMinMaxLineSeries();
+        compressor.setXSeries(new IndexSeriesBuffer(NUM_POINTS));
+        compressor.setYSeries(new MappedSeriesBuffer(file, FileFormat.FLOAT));
+        System.out.println("mapped: " + (System.nanoTime() - start) / 1000000
+                + " ms to set series, " + (getUsedHeap() - heap) / 1048576
+                + " MB of heap (" + NUM_POINTS * 16L / 1048576
+                + " MB for double[] X and Y series)");
+
+        CompressConfig config = new CompressConfig();
+        config.setYRange(-1.5, 1.5);
+
+        for (double ratio : ZOOM_RATIOS) {
+            double lower = NUM_POINTS * (1 - ratio) / 2;
+            config.setXRange(lower, lower + NUM_POINTS * ratio);
+
+            // warm up
+            for (int i = 0; i < ITERATIONS; i++) {
+                compress(compressor, config, i);
+            }
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                compress(compressor, config, i);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println("  zoom " + ratio + ": " + elapsed
+                    / ITERATIONS / 1000 + " us/call, "
+                    + compressor.getCompressedXSeries().length + " points");
+        }
+    }
+
+    /**
+     * Gets the used heap size after garbage collection.
+     *
+     * @return the used heap size in bytes
+     */
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Compresses with the plot size that differs from the previous call.
+     *
+     * @param compressor
+     *            the compressor
+     * @param config
+     *            the configuration for compression
+     * @param iteration
+     *            the iteration count
+     */
+    private static void compress(CompressMinMaxLineSeries compressor,
+            CompressConfig config, int iteration) {
+        config.setSizeInPixel(2000 + iteration % 2 * 2, 1200);
+        compressor.compress(config);
+    }
+}
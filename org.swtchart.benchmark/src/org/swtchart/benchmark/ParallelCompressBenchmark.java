@@ -0,0 +1,122 @@
+package org.swtchart.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.compress.ICompress;
+import org.swtchart.internal.compress.CompressAll;
+import org.swtchart.internal.compress.CompressLineSeries;
+
+/**
+ * A benchmark to compare the throughput of compressing many series one after
+ * another and in parallel with 1, 2, 4 and 8 threads.
+ * <p>
+ * The plot size is changed on every call as it is done while resizing the
+ * chart, so that each call actually recompresses all series.
+ */
+public class ParallelCompressBenchmark {
+
+    /** the number of series */
+    private static final int NUM_SERIES = 40;
+
+    /** the number of data points in each series */
+    private static final int NUM_POINTS = 500000;
+
+    /** the number of warm-up iterations */
+    private static final int WARMUP = 5;
+
+    /** the number of measured iterations */
+    private static final int ITERATIONS = 10;
+
+    /** the numbers of threads */
+    private static final int[] THREADS = { 1, 2, 4, 8 };
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     */
+    public static void main(String[] args) {
+        List<ICompress> compressors = new ArrayList<ICompress>();
+        double[] xSeries = new double[NUM_POINTS];
+        double[] ySeries = new double[NUM_POINTS];
+        for (int i = 0; i < NUM_SERIES; i++) {
+            for (int j = 0; j < NUM_POINTS; j++) {
+                xSeries[j] = j;
+                ySeries[j] = Math.sin(j * (i + 1) * Math.PI / NUM_POINTS)
+                        + Math.random() * 0.2;
+            }
+            ICompress compressor = new CompressLineSeries();
+            compressor.setXSeries(xSeries);
+            compressor.setYSeries(ySeries);
+            compressors.add(compressor);
+        }
+
+        System.out.println("available processors: "
+                + Runtime.getRuntime().availableProcessors());
+
+        run("sequential", compressors, null);
+        for (int threads : THREADS) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            run(threads + " threads", compressors, executor);
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs the benchmark with the given executor.
+     *
+     * @param name
+     *            the name of benchmark
+     * @param compressors
+     *            the compressors
+     * @param executor
+     *            the executor, or <tt>null</tt> to compress series on the
+     *            current thread
+     */
+    private static void run(String name, List<ICompress> compressors,
+            ExecutorService executor) {
+        for (int i = 0; i < WARMUP; i++) {
+            compress(compressors, executor, i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            compress(compressors, executor, i);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1e9 / ITERATIONS;
+        System.out.println(name + ": " + (int) (seconds * 1000)
+                + " ms/call, " + (int) (NUM_SERIES * NUM_POINTS / seconds)
+                + " points/s");
+    }
+
+    /**
+     * Compresses all series with the plot size that differs from the previous
+     * call.
+     *
+     * @param compressors
+     *            the compressors
+     * @param executor
+     *            the executor
+     * @param iteration
+     *            the iteration count
+     */
+    private static void compress(List<ICompress> compressors,
+            ExecutorService executor, int iteration) {
+        List<CompressConfig> configs = new ArrayList<CompressConfig>();
+        for (int i = 0; i < compressors.size(); i++) {
+            CompressConfig config = new CompressConfig();
+            config.setSizeInPixel(2000 + iteration % 2 * 2, 1200);
+            config.setXRange(-NUM_POINTS * 0.015, NUM_POINTS * 1.015);
+            config.setYRange(-1.5, 1.5);
+            configs.add(config);
+        }
+        CompressAll.compress(compressors, configs, executor);
+    }
+}
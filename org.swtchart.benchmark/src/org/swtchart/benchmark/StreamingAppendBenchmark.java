@@ -0,0 +1,173 @@
+package org.swtchart.benchmark;
+
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.internal.buffer.RingSeriesBuffer;
+import org.swtchart.internal.compress.CompressLineSeries;
+
+/**
+ * A benchmark to measure the time per frame of a live series showing the
+ * latest plots of a fixed capacity.
+ * <p>
+ * On each frame, a small number of plots is appended and X range scrolls to
+ * the latest plot. The series held in ring buffers is compared with the
+ * series held in arrays, which have to be shifted and set to the compressor
+ * again on each frame.
+ */
+public class StreamingAppendBenchmark {
+
+    /** the number of plots kept in series */
+    private static final int CAPACITY = 1000000;
+
+    /** the number of plots appended on each frame */
+    private static final int PLOTS_PER_FRAME = 1000;
+
+    /** the width of plot area in pixels */
+    private static final int WIDTH = 2000;
+
+    /** the number of measured frames */
+    private static final int FRAMES = 200;
+
+    /** the number of appended plots */
+    private static long count;
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     */
+    public static void main(String[] args) {
+
+        // warm up
+        runArrays();
+        runRingBuffers();
+
+        System.out.println("arrays: " + runArrays() + " us/frame");
+        System.out.println("ring buffers: " + runRingBuffers() + " us/frame");
+    }
+
+    /**
+     * Runs the frames with the series held in arrays.
+     *
+     * @return the average time in micro seconds
+     */
+    private static long runArrays() {
+        double[] xSeries = new double[CAPACITY];
+        double[] ySeries = new double[CAPACITY];
+        double[] xPlots = new double[PLOTS_PER_FRAME];
+        double[] yPlots = new double[PLOTS_PER_FRAME];
+        count = 0;
+        for (int i = 0; i < CAPACITY / PLOTS_PER_FRAME; i++) {
+            createPlots(xPlots, yPlots);
+            shift(xSeries, xPlots);
+            shift(ySeries, yPlots);
+        }
+
+        CompressLineSeries compressor = new CompressLineSeries();
+        CompressConfig config = createConfig();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            createPlots(xPlots, yPlots);
+            shift(xSeries, xPlots);
+            shift(ySeries, yPlots);
+            compressor.setXSeries(xSeries);
+            compressor.setYSeries(ySeries);
+            scroll(config);
+            compressor.compress(config);
+        }
+        return (System.nanoTime() - start) / FRAMES / 1000;
+    }
+
+    /**
+     * Runs the frames with the series held in ring buffers.
+     *
+     * @return the average time in micro seconds
+     */
+    private static long runRingBuffers() {
+        RingSeriesBuffer xSeries = new RingSeriesBuffer(CAPACITY);
+        RingSeriesBuffer ySeries = new RingSeriesBuffer(CAPACITY);
+        double[] xPlots = new double[PLOTS_PER_FRAME];
+        double[] yPlots = new double[PLOTS_PER_FRAME];
+        count = 0;
+        for (int i = 0; i < CAPACITY / PLOTS_PER_FRAME; i++) {
+            createPlots(xPlots, yPlots);
+            xSeries.append(xPlots, 0, PLOTS_PER_FRAME);
+            ySeries.append(yPlots, 0, PLOTS_PER_FRAME);
+        }
+
+        CompressLineSeries compressor = new CompressLineSeries();
+        compressor.setXSeries(xSeries);
+        compressor.setYSeries(ySeries);
+        CompressConfig config = createConfig();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            createPlots(xPlots, yPlots);
+            xSeries.append(xPlots, 0, PLOTS_PER_FRAME);
+            int discarded = ySeries.append(yPlots, 0, PLOTS_PER_FRAME);
+            compressor.seriesAppended(discarded);
+            scroll(config);
+            compressor.compress(config);
+        }
+        return (System.nanoTime() - start) / FRAMES / 1000;
+    }
+
+    /**
+     * Creates the configuration for compression.
+     *
+     * @return the configuration
+     */
+    private static CompressConfig createConfig() {
+        CompressConfig config = new CompressConfig();
+        config.setSizeInPixel(WIDTH, 1200);
+        config.setYRange(-1.5, 1.5);
+        return config;
+    }
+
+    /**
+     * Scrolls X range to show the latest plots, by a multiple of the pixel
+     * width.
+     *
+     * @param config
+     *            the configuration for compression
+     */
+    private static void scroll(CompressConfig config) {
+        double pixel = (double) CAPACITY / WIDTH;
+        double upper = Math.ceil(count / pixel) * pixel;
+        config.setXRange(upper - CAPACITY, upper);
+    }
+
+    /**
+     * Creates the plots to be appended.
+     *
+     * @param xPlots
+     *            the array to store X coordinates
+     * @param yPlots
+     *            the array to store Y coordinates
+     */
+    private static void createPlots(double[] xPlots, double[] yPlots) {
+        for (int i = 0; i < xPlots.length; i++) {
+            xPlots[i] = count;
+            yPlots[i] = Math.sin(count * Math.PI / 100000) + Math.random()
+                    * 0.2;
+            count++;
+        }
+    }
+
+    /**
+     * Shifts the series to discard the oldest plots, and stores the given
+     * plots at the end.
+     *
+     * @param series
+     *            the series
+     * @param plots
+     *            the plots to be stored
+     */
+    private static void shift(double[] series, double[] plots) {
+        System.arraycopy(series, plots.length, series, 0, series.length
+                - plots.length);
+        System.arraycopy(plots, 0, series, series.length - plots.length,
+                plots.length);
+    }
+}
@@ -19,6 +19,7 @@ import org.swtchart.Chart;
 import org.swtchart.examples.advanced.AxisTickBoundsExample;
 import org.swtchart.examples.advanced.BarBoundsExample;
 import org.swtchart.examples.advanced.CustomPaintListenerExample;
+import org.swtchart.examples.advanced.DataProviderExample;
 import org.swtchart.examples.advanced.DataToPixelConversionExample;
 import org.swtchart.examples.advanced.LegendBoundsExample;
 import org.swtchart.examples.advanced.PxielToDataConversionExample;
@@ -125,6 +126,7 @@ public class RunAllExamples {
         basicCharts.add(AxisTickBoundsExample.createChart(parent));
         basicCharts.add(LegendBoundsExample.createChart(parent));
         basicCharts.add(CustomPaintListenerExample.createChart(parent));
+        basicCharts.add(DataProviderExample.createChart(parent));
 
         return basicCharts;
     }
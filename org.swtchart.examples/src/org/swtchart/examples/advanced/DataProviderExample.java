@@ -0,0 +1,145 @@
+package org.swtchart.examples.advanced;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.swtchart.Chart;
+import org.swtchart.ILineSeries;
+import org.swtchart.ISeriesDataProvider;
+import org.swtchart.Range;
+import org.swtchart.ILineSeries.PlotSymbolType;
+import org.swtchart.ISeries.SeriesType;
+import org.swtchart.dataset.xy.IXYDataset;
+import org.swtchart.dataset.xy.XYDataset;
+
+/**
+ * An example for data provider giving only the plots in X range of a series
+ * which is too large to be held in memory.
+ */
+public class DataProviderExample {
+
+    /** the number of plots in series */
+    private static final long NUM_POINTS = 1000000000L;
+
+    /**
+     * The main method.
+     * 
+     * @param args
+     *            the arguments
+     */
+    public static void main(String[] args) {
+        Display display = new Display();
+        Shell shell = new Shell(display);
+        shell.setText("Data Provider");
+        shell.setSize(500, 400);
+        shell.setLayout(new FillLayout());
+
+        createChart(shell);
+
+        shell.open();
+        while (!shell.isDisposed()) {
+            if (!display.readAndDispatch()) {
+                display.sleep();
+            }
+        }
+        display.dispose();
+    }
+
+    /**
+     * create the chart.
+     * 
+     * @param parent
+     *            The parent composite
+     * @return The created chart
+     */
+    static public Chart createChart(Composite parent) {
+
+        // create a chart
+        Chart chart = new Chart(parent, SWT.NONE);
+
+        // set titles
+        chart.getTitle().setText("Data Provider");
+        chart.getAxisSet().getXAxis(0).getTitle().setText("Data Points");
+        chart.getAxisSet().getYAxis(0).getTitle().setText("Amplitude");
+
+        // create line series
+        ILineSeries lineSeries = (ILineSeries) chart.getSeriesSet()
+                .createSeries(SeriesType.LINE, "line series");
+        lineSeries.setDataProvider(new WaveDataProvider());
+        lineSeries.setSymbolType(PlotSymbolType.NONE);
+
+        // adjust the axis range
+        chart.getAxisSet().adjustRange();
+
+        return chart;
+    }
+
+    /**
+     * A data provider computing the plots of a wave on demand. If there are
+     * more plots than columns in the X range, the plots at the minimum and
+     * maximum of sampled values in each column are given.
+     */
+    static class WaveDataProvider implements ISeriesDataProvider {
+
+        /** the number of sampled plots in a column */
+        private static final int SAMPLES_PER_COLUMN = 16;
+
+        public IXYDataset getXYSeries(double xLower, double xUpper,
+                int widthInPixel) {
+            long first = Math.max((long) Math.floor(xLower) - 1, 0);
+            long last = Math.min((long) Math.ceil(xUpper) + 1, NUM_POINTS - 1);
+            XYDataset dataset = new XYDataset();
+            if (first > last) {
+                return dataset;
+            }
+
+            if (last - first < widthInPixel * 2L) {
+                for (long i = first; i <= last; i++) {
+                    dataset.add(i, getValue(i));
+                }
+                return dataset;
+            }
+
+            double step = (last - first + 1) / (double) widthInPixel;
+            for (int column = 0; column < widthInPixel; column++) {
+                long start = first + (long) (column * step);
+                long end = first + (long) ((column + 1) * step);
+                long minIndex = start;
+                long maxIndex = start;
+                long sampleStep = Math.max((end - start) / SAMPLES_PER_COLUMN,
+                        1);
+                for (long i = start; i < end; i += sampleStep) {
+                    if (getValue(i) < getValue(minIndex)) {
+                        minIndex = i;
+                    }
+                    if (getValue(i) > getValue(maxIndex)) {
+                        maxIndex = i;
+                    }
+                }
+                long lower = Math.min(minIndex, maxIndex);
+                long upper = Math.max(minIndex, maxIndex);
+                dataset.add(lower, getValue(lower));
+                if (upper != lower) {
+                    dataset.add(upper, getValue(upper));
+                }
+            }
+            return dataset;
+        }
+
+        public Range getXRange() {
+            return new Range(0, NUM_POINTS - 1);
+        }
+
+        public Range getYRange() {
+            return new Range(-2, 2);
+        }
+
+        private static double getValue(long index) {
+            return Math.sin(index * 33 * Math.PI / NUM_POINTS)
+                    + Math.sin(index * 0.001) * 0.5
+                    + Math.sin(index * 0.3) * 0.3;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.swtchart.examples.advanced;
+
+import java.io.File;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.swtchart.Chart;
+import org.swtchart.ILineSeries;
+import org.swtchart.ISeries.SeriesType;
+
+/**
+ * An example to export charts into PNG files of various sizes without opening
+ * a shell.
+ */
+public class OffscreenExportExample {
+
+    /** the number of exported charts */
+    private static final int NUM_CHARTS = 10;
+
+    /** the number of plots in series */
+    private static final int NUM_POINTS = 100000;
+
+    /** the sizes of exported images */
+    private static final int[][] SIZES = { { 640, 480 }, { 1920, 1080 },
+            { 4000, 3000 } };
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments, whose first element is the output directory
+     */
+    public static void main(String[] args) {
+        File directory = new File(args.length > 0 ? args[0] : ".");
+
+        Display display = new Display();
+
+        // the shell is never opened
+        Shell shell = new Shell(display);
+        Chart chart = new Chart(shell, SWT.NONE);
+        chart.getAxisSet().getXAxis(0).getTitle().setText("Data Points");
+        chart.getAxisSet().getYAxis(0).getTitle().setText("Amplitude");
+        ILineSeries lineSeries = (ILineSeries) chart.getSeriesSet()
+                .createSeries(SeriesType.LINE, "line series");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < NUM_CHARTS; i++) {
+            chart.getTitle().setText("Report " + i);
+            lineSeries.setYSeries(getSeries(i));
+            chart.getAxisSet().adjustRange();
+
+            for (int[] size : SIZES) {
+                String filename = new File(directory, "report" + i + "_"
+                        + size[0] + "x" + size[1] + ".png").getPath();
+                chart.save(filename, SWT.IMAGE_PNG, size[0], size[1]);
+            }
+        }
+        System.out.println(NUM_CHARTS * SIZES.length + " images exported in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+
+        shell.dispose();
+        display.dispose();
+    }
+
+    /**
+     * Gets the series of a wave.
+     *
+     * @param seed
+     *            the seed to change the wave
+     * @return the series
+     */
+    private static double[] getSeries(int seed) {
+        double[] series = new double[NUM_POINTS];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = Math.sin(i * (seed + 1) * 2 * Math.PI / NUM_POINTS)
+                    + Math.random() * 0.1;
+        }
+        return series;
+    }
+}
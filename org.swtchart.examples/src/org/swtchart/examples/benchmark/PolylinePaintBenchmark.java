@@ -0,0 +1,118 @@
+package org.swtchart.examples.benchmark;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * A benchmark to compare the paint time of drawing line series segment by
+ * segment with <tt>GC.drawLine()</tt> and at once with
+ * <tt>GC.drawPolyline()</tt>.
+ * <p>
+ * The series are drawn on an image so that the benchmark doesn't depend on the
+ * visibility of window, with and without antialiasing.
+ */
+public class PolylinePaintBenchmark {
+
+    /** the number of series */
+    private static final int NUM_SERIES = 30;
+
+    /** the number of segments in each series */
+    private static final int NUM_SEGMENTS = 4000;
+
+    /** the image width */
+    private static final int WIDTH = 2000;
+
+    /** the image height */
+    private static final int HEIGHT = 1200;
+
+    /** the number of warm-up iterations */
+    private static final int WARMUP = 3;
+
+    /** the number of measured iterations */
+    private static final int ITERATIONS = 10;
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     */
+    public static void main(String[] args) {
+        Display display = new Display();
+
+        int[][] series = new int[NUM_SERIES][(NUM_SEGMENTS + 1) * 2];
+        for (int i = 0; i < NUM_SERIES; i++) {
+            double y = HEIGHT / 2;
+            for (int j = 0; j <= NUM_SEGMENTS; j++) {
+                y = Math.max(0, Math.min(HEIGHT, y + Math.random() * 20 - 10));
+                series[i][j * 2] = j * WIDTH / NUM_SEGMENTS;
+                series[i][j * 2 + 1] = (int) y;
+            }
+        }
+
+        Image image = new Image(display, WIDTH, HEIGHT);
+        GC gc = new GC(image);
+
+        for (int antialias : new int[] { SWT.OFF, SWT.ON }) {
+            gc.setAntialias(antialias);
+            String suffix = antialias == SWT.ON ? " (antialias)" : "";
+            System.out.println("drawLine" + suffix + ": "
+                    + run(gc, series, false) + " ms/paint");
+            System.out.println("drawPolyline" + suffix + ": "
+                    + run(gc, series, true) + " ms/paint");
+        }
+
+        gc.dispose();
+        image.dispose();
+        display.dispose();
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param gc
+     *            the graphics context
+     * @param series
+     *            the polyline points of series
+     * @param polyline
+     *            true if drawing polyline
+     * @return the average paint time in milliseconds
+     */
+    private static long run(GC gc, int[][] series, boolean polyline) {
+        for (int i = 0; i < WARMUP; i++) {
+            paint(gc, series, polyline);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            paint(gc, series, polyline);
+        }
+        return (System.nanoTime() - start) / ITERATIONS / 1000000;
+    }
+
+    /**
+     * Paints all series.
+     *
+     * @param gc
+     *            the graphics context
+     * @param series
+     *            the polyline points of series
+     * @param polyline
+     *            true if drawing polyline
+     */
+    private static void paint(GC gc, int[][] series, boolean polyline) {
+        gc.fillRectangle(0, 0, WIDTH, HEIGHT);
+        for (int[] points : series) {
+            if (polyline) {
+                gc.drawPolyline(points);
+            } else {
+                for (int i = 0; i < points.length - 2; i += 2) {
+                    gc.drawLine(points[i], points[i + 1], points[i + 2],
+                            points[i + 3]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.swtchart.examples.benchmark;
+
+import org.swtchart.dataset.xy.XYDataset;
+
+/**
+ * A benchmark to measure the time of ingesting a large number of points into
+ * <tt>XYDataset</tt> point by point and in bulk, and getting the values.
+ */
+public class XYDatasetBenchmark {
+
+    /** the number of data points */
+    private static final int NUM_POINTS = 10000000;
+
+    /** the number of points added at once in bulk */
+    private static final int BATCH_SIZE = 1000;
+
+    /** the number of measured iterations */
+    private static final int ITERATIONS = 5;
+
+    /**
+     * The main method.
+     *
+     * @param args
+     *            the arguments
+     */
+    public static void main(String[] args) {
+        double[] x = new double[BATCH_SIZE];
+        double[] y = new double[BATCH_SIZE];
+
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            long start = System.nanoTime();
+            XYDataset dataset = new XYDataset();
+            for (int i = 0; i < NUM_POINTS; i++) {
+                dataset.add(i, i * 0.001);
+            }
+            long added = System.nanoTime();
+            double[] xValues = dataset.getXvalues();
+            double[] yValues = dataset.getYvalues();
+            long got = System.nanoTime();
+
+            dataset = new XYDataset();
+            for (int i = 0; i < NUM_POINTS; i += BATCH_SIZE) {
+                for (int j = 0; j < BATCH_SIZE; j++) {
+                    x[j] = i + j;
+                    y[j] = (i + j) * 0.001;
+                }
+                dataset.addAll(x, y);
+            }
+            long addedAll = System.nanoTime();
+
+            System.out.println("add: " + (added - start) / 1000000
+                    + " ms, addAll: " + (addedAll - got) / 1000000
+                    + " ms, get values: " + (got - added) / 1000000 + " ms ("
+                    + (xValues.length + yValues.length) + " values)");
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.MenuItem;
 import org.swtchart.Chart;
 import org.swtchart.IAxis;
+import org.swtchart.IPlotArea;
 import org.swtchart.Range;
 import org.swtchart.IAxis.Direction;
 import org.swtchart.ext.internal.SelectionRectangle;
@@ -264,7 +265,7 @@ public class InteractiveChart extends Chart implements PaintListener {
     private void handleMouseMoveEvent(Event event) {
         if (!selection.isDisposed()) {
             selection.setEndPoint(event.x, event.y);
-            redraw();
+            ((IPlotArea) getPlotArea()).redrawOverlay();
         }
     }
 
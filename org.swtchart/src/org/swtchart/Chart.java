@@ -6,6 +6,8 @@
  *******************************************************************************/
 package org.swtchart;
 
+import java.util.concurrent.ExecutorService;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.GC;
@@ -13,18 +15,20 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
 import org.swtchart.internal.ChartLayout;
 import org.swtchart.internal.ChartLayoutData;
 import org.swtchart.internal.ChartTitle;
+import org.swtchart.internal.DataQueue;
 import org.swtchart.internal.Legend;
 import org.swtchart.internal.PlotArea;
 import org.swtchart.internal.Title;
 import org.swtchart.internal.axis.AxisSet;
+import org.swtchart.internal.series.SeriesSet;
 
 /**
  * A chart which are composed of title, legend, axes and plot area.
@@ -49,6 +53,18 @@ public class Chart extends Composite implements Listener {
     /** the state indicating if compressing series is enabled */
     private boolean compressEnabled;
 
+    /** the executor to compress series in parallel */
+    private ExecutorService compressExecutor;
+
+    /** the nesting depth of <tt>beginUpdate()</tt> */
+    private int updateDepth;
+
+    /** the state indicating if updating layout is deferred */
+    private boolean layoutDeferred;
+
+    /** the queue of plots to be appended to series */
+    private DataQueue dataQueue;
+
     /**
      * Constructor.
      *
@@ -73,6 +89,7 @@ public class Chart extends Composite implements Listener {
         legend.setLayoutData(new ChartLayoutData(200, SWT.DEFAULT));
         plotArea = new PlotArea(this, SWT.NONE);
         axisSet = new AxisSet(this);
+        dataQueue = new DataQueue(this);
 
         updateLayout();
 
@@ -124,6 +141,16 @@ public class Chart extends Composite implements Listener {
         return plotArea.getSeriesSet();
     }
 
+    /**
+     * Gets the queue of plots to be appended to series, which can be used
+     * from any thread.
+     *
+     * @return the queue of plots
+     */
+    public IDataQueue getDataQueue() {
+        return dataQueue;
+    }
+
     /*
      * @see Control#setBackground(Color)
      */
@@ -212,6 +239,80 @@ public class Chart extends Composite implements Listener {
         return compressEnabled;
     }
 
+    /**
+     * Sets the executor to compress series in parallel. By default, series are
+     * compressed one after another on UI thread. If an executor is set, each
+     * series is compressed as a separate task on the executor, and UI thread
+     * waits until all series are compressed before drawing them.
+     * <p>
+     * The executor is not shut down when chart is disposed.
+     *
+     * @param executor
+     *            the executor, or <tt>null</tt> to compress series on UI
+     *            thread
+     */
+    public void setCompressExecutor(ExecutorService executor) {
+        compressExecutor = executor;
+    }
+
+    /**
+     * Gets the executor to compress series in parallel.
+     *
+     * @return the executor, or <tt>null</tt> if series are compressed on UI
+     *         thread
+     */
+    public ExecutorService getCompressExecutor() {
+        return compressExecutor;
+    }
+
+    /**
+     * Begins a batch of updates. Until the matching <tt>endUpdate()</tt> is
+     * called, updating the layout of chart elements and compressing series
+     * are deferred, so that setting many properties, e.g. creating series and
+     * axes or setting axis ranges, costs only one layout and one compression
+     * at <tt>endUpdate()</tt>.
+     * <p>
+     * The calls can be nested, and the deferred updates are done when the
+     * outermost batch ends. <tt>endUpdate()</tt> should be called in
+     * <tt>finally</tt> block. Until then, the pixel coordinates and the
+     * compressed series reflect the state before the batch.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Ends a batch of updates begun with <tt>beginUpdate()</tt>. When the
+     * outermost batch ends, the layout of chart elements is updated and series
+     * are compressed if they were deferred.
+     *
+     * @throws IllegalStateException
+     *             if no batch of updates has begun
+     */
+    public void endUpdate() {
+        if (updateDepth == 0) {
+            throw new IllegalStateException("No batch of updates has begun.");
+        }
+        if (--updateDepth > 0) {
+            return;
+        }
+
+        if (layoutDeferred) {
+            updateLayout();
+        }
+        ((SeriesSet) getSeriesSet()).compressDeferredSeries();
+    }
+
+    /**
+     * Gets the state indicating if a batch of updates begun with
+     * <tt>beginUpdate()</tt> is in progress.
+     *
+     * @return true if updating the layout and compressing series are deferred
+     */
+    public boolean isUpdating() {
+        return updateDepth > 0;
+    }
+
     /*
      * @see Listener#handleEvent(Event)
      */
@@ -227,9 +328,16 @@ public class Chart extends Composite implements Listener {
     }
 
     /**
-     * Updates the layout of chart elements.
+     * Updates the layout of chart elements. The update is deferred while a
+     * batch of updates begun with <tt>beginUpdate()</tt> is in progress.
      */
     public void updateLayout() {
+        if (updateDepth > 0) {
+            layoutDeferred = true;
+            return;
+        }
+        layoutDeferred = false;
+
         if (legend != null) {
             legend.updateLayoutData();
         }
@@ -285,6 +393,9 @@ public class Chart extends Composite implements Listener {
 
     /**
      * Saves to file with given format.
+     * <p>
+     * The chart is rendered offscreen with its current size, so that it
+     * doesn't have to be visible on screen.
      *
      * @param filename
      *            the file name
@@ -293,15 +404,148 @@ public class Chart extends Composite implements Listener {
      */
     public void save(String filename, int format) {
         Point size = getSize();
-        GC gc = new GC(this);
-        Image image = new Image(Display.getDefault(), size.x, size.y);
-        gc.copyArea(image, 0, 0);
-        gc.dispose();
+        save(filename, format, size.x, size.y);
+    }
 
-        ImageData data = image.getImageData();
+    /**
+     * Saves to file with given format and size. The chart is rendered
+     * offscreen as <tt>renderImageData(int, int)</tt> does.
+     *
+     * @param filename
+     *            the file name
+     * @param format
+     *            the format (SWT.IMAGE_*). The supported formats depend on OS.
+     * @param width
+     *            the width of image in pixels
+     * @param height
+     *            the height of image in pixels
+     * @throws IllegalArgumentException
+     *             if the width or height is not positive
+     */
+    public void save(String filename, int format, int width, int height) {
         ImageLoader loader = new ImageLoader();
-        loader.data = new ImageData[] { data };
+        loader.data = new ImageData[] { renderImageData(width, height) };
         loader.save(filename, format);
-        image.dispose();
+    }
+
+    /**
+     * Renders the chart into image data of the given size without drawing on
+     * screen.
+     *
+     * @param width
+     *            the width of image in pixels
+     * @param height
+     *            the height of image in pixels
+     * @return the image data
+     * @throws IllegalArgumentException
+     *             if the width or height is not positive
+     * @see #renderImage(int, int)
+     */
+    public ImageData renderImageData(int width, int height) {
+        Image image = renderImage(width, height);
+        try {
+            return image.getImageData();
+        } finally {
+            image.dispose();
+        }
+    }
+
+    /**
+     * Renders the chart into an image of the given size without drawing on
+     * screen.
+     * <p>
+     * The chart is laid out for the given size, and the title, legend, axes
+     * and plot area are painted into the image, where the series are
+     * compressed for the given size. Then the previous size is restored. The
+     * chart doesn't have to be visible, e.g. it can be created on a shell
+     * which is never opened, so that many charts can be exported in batch.
+     * The size can be larger than screen.
+     *
+     * @param width
+     *            the width of image in pixels
+     * @param height
+     *            the height of image in pixels
+     * @return the image, which has to be disposed by the caller
+     * @throws IllegalArgumentException
+     *             if the width or height is not positive
+     * @throws IllegalStateException
+     *             if a batch of updates begun with <tt>beginUpdate()</tt> is
+     *             in progress
+     */
+    public Image renderImage(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(
+                    "Image size must be positive value.");
+        }
+        if (isUpdating()) {
+            throw new IllegalStateException(
+                    "Chart cannot be rendered during a batch of updates.");
+        }
+
+        Point size = getSize();
+        Image image = new Image(getDisplay(), width, height);
+        GC gc = new GC(image);
+        try {
+            // the layout is updated on resize event if the size is changed
+            if (size.x == width && size.y == height) {
+                updateLayout();
+            } else {
+                setSize(width, height);
+            }
+            plotArea.redraw();
+            paint(this, gc);
+        } finally {
+            gc.dispose();
+            setSize(size);
+        }
+        return image;
+    }
+
+    /**
+     * Paints the control and its children with the given graphics context,
+     * as the control would be painted on screen.
+     *
+     * @param control
+     *            the control
+     * @param gc
+     *            the graphics context, whose origin is the top left corner of
+     *            control
+     */
+    private void paint(Control control, GC gc) {
+        Point size = control.getSize();
+        gc.setBackground(control.getBackground());
+        gc.setForeground(control.getForeground());
+        gc.setFont(control.getFont());
+        gc.fillRectangle(0, 0, size.x, size.y);
+
+        Event event = new Event();
+        event.gc = gc;
+        event.width = size.x;
+        event.height = size.y;
+        control.notifyListeners(SWT.Paint, event);
+
+        if (!(control instanceof Composite)) {
+            return;
+        }
+
+        // the first child is on top of others
+        Control[] children = ((Composite) control).getChildren();
+        for (int i = children.length - 1; i >= 0; i--) {
+            Rectangle bounds = children[i].getBounds();
+            if (!children[i].getVisible() || bounds.width <= 0
+                    || bounds.height <= 0) {
+                continue;
+            }
+
+            Image image = new Image(getDisplay(), bounds.width, bounds.height);
+            GC childGC = new GC(image);
+            try {
+                paint(children[i], childGC);
+            } finally {
+                childGC.dispose();
+            }
+            gc.drawImage(image, bounds.x, bounds.y);
+            image.dispose();
+        }
     }
 }
@@ -127,6 +127,36 @@ public interface IAxis {
      */
     void adjustRange();
 
+    /**
+     * Adjusts the Y axis range to the plots of series within the current range
+     * of their X axes, so that the series zoomed into on X axis fill the plot
+     * area vertically. The X axis and the category axis are adjusted in the
+     * same way as <tt>adjustRange()</tt>.
+     */
+    void adjustRangeToXRange();
+
+    /**
+     * Enables adjusting the axis range automatically whenever the series are
+     * compressed, e.g. when plots are appended, the series is invalidated, or
+     * the X axis range is changed. The X axis is adjusted with
+     * <tt>adjustRange()</tt> so that it follows the whole series, and the Y
+     * axis is adjusted with <tt>adjustRangeToXRange()</tt> so that it follows
+     * the plots within the current X range. The range set with
+     * <tt>setRange(Range)</tt> or by zooming this axis is overwritten at the
+     * next adjustment.
+     * 
+     * @param enabled
+     *            true if enabling automatic adjustment of axis range
+     */
+    void enableAutoAdjustRange(boolean enabled);
+
+    /**
+     * Gets the state indicating if the axis range is adjusted automatically.
+     * 
+     * @return true if the axis range is adjusted automatically
+     */
+    boolean isAutoAdjustRangeEnabled();
+
     /**
      * Zooms in the axis.
      */
@@ -224,4 +254,4 @@ public interface IAxis {
      *            the dispose listener
      */
     void addDisposeListener(IDisposeListener listener);
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -15,6 +15,11 @@ public interface ICustomPaintListener extends PaintListener {
 
     /**
      * Gets the state indicating if painting behind series.
+     * <p>
+     * The paint behind series is cached in image together with the grid, and
+     * is painted again with <tt>redraw()</tt> of plot area. The paint over
+     * series is painted on each paint event, and can be updated alone with
+     * <tt>IPlotArea.redrawOverlay()</tt>.
      *
      * @return True if painting behind series
      */
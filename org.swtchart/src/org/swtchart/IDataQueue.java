@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart;
+
+/**
+ * A queue of plots to be appended to series, which can be used from any
+ * thread.
+ * <p>
+ * The queued plots are appended to series on UI thread at most once in the
+ * redraw interval, and the chart is redrawn once after appending all the
+ * queued plots. The batches of plots queued for the same series are appended
+ * at once.
+ */
+public interface IDataQueue {
+
+    /**
+     * Queues the plots to be appended to the series with the given id. This
+     * method can be called from any thread. The given arrays are copied.
+     * <p>
+     * If the queue already has the maximum number of batches, the plots are
+     * dropped and the number of dropped batches is incremented.
+     *
+     * @param id
+     *            the series id
+     * @param xSeries
+     *            the X series to be appended
+     * @param ySeries
+     *            the Y series to be appended
+     * @return false if the plots are dropped
+     * @throws IllegalArgumentException
+     *             if the lengths of X and Y series are different
+     */
+    boolean appendXYSeries(String id, double[] xSeries, double[] ySeries);
+
+    /**
+     * Gets the number of batches waiting in the queue.
+     *
+     * @return the number of batches
+     */
+    int getDepth();
+
+    /**
+     * Gets the number of batches dropped because the queue was full or the
+     * series was not found.
+     *
+     * @return the number of dropped batches
+     */
+    long getDroppedCount();
+
+    /**
+     * Sets the maximum number of batches waiting in the queue.
+     *
+     * @param depth
+     *            the maximum number of batches
+     * @throws IllegalArgumentException
+     *             if the given depth is not positive
+     */
+    void setMaxDepth(int depth);
+
+    /**
+     * Gets the maximum number of batches waiting in the queue.
+     *
+     * @return the maximum number of batches
+     */
+    int getMaxDepth();
+
+    /**
+     * Sets the interval to append the queued plots and redraw the chart.
+     *
+     * @param interval
+     *            the interval in milliseconds
+     * @throws IllegalArgumentException
+     *             if the given interval is negative
+     */
+    void setRedrawInterval(int interval);
+
+    /**
+     * Gets the interval to append the queued plots and redraw the chart.
+     *
+     * @return the interval in milliseconds
+     */
+    int getRedrawInterval();
+}
@@ -56,6 +56,31 @@ public interface ILineSeries extends ISeries {
         }
     }
 
+    /**
+     * A compression type.
+     */
+    public enum CompressionType {
+
+        /** the plots in the same grid as the previous plot are ignored */
+        DEFAULT("Default"),
+
+        /** the first, last, minimum and maximum plots in each column are kept */
+        MIN_MAX("Min/Max");
+
+        /** the label for compression type */
+        public final String label;
+
+        /**
+         * Constructor.
+         * 
+         * @param label
+         *            compression type label
+         */
+        private CompressionType(String label) {
+            this.label = label;
+        }
+    }
+
     /**
      * Gets the symbol type.
      * 
@@ -226,4 +251,31 @@ public interface ILineSeries extends ISeries {
      *            <tt>SWT.ON</tt> or <tt>SWT.OFF</tt>.
      */
     void setAntialias(int antialias);
-}
\ No newline at end of file
+
+    /**
+     * Gets the compression type, which is given by the compressor id.
+     * 
+     * @return <tt>CompressionType.MIN_MAX</tt> if the compressor id is
+     *         <tt>CompressorRegistry.MIN_MAX</tt>, otherwise
+     *         <tt>CompressionType.DEFAULT</tt>
+     */
+    CompressionType getCompressionType();
+
+    /**
+     * Sets the compression type. If null is given, default type
+     * <tt>CompressionType.DEFAULT</tt> will be set.
+     * <p>
+     * This is a shorthand for <tt>setCompressorId(String)</tt>.
+     * <tt>CompressionType.MIN_MAX</tt> sets the compressor id
+     * <tt>CompressorRegistry.MIN_MAX</tt>, and
+     * <tt>CompressionType.DEFAULT</tt> clears the compressor id only if it is
+     * <tt>CompressorRegistry.MIN_MAX</tt>. The min/max compressor keeps the
+     * spikes which would be lost with the default compression, and bounds the
+     * number of plots to be drawn by the plot area width rather than the
+     * series size. It takes effect only when X series is monotone increasing.
+     * 
+     * @param type
+     *            the compression type
+     */
+    void setCompressionType(CompressionType type);
+}
\ No newline at end of file
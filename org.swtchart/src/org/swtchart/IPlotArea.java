@@ -26,4 +26,27 @@ public interface IPlotArea {
      *            the custom paint listener
      */
     public void removeCustomPaintListener(ICustomPaintListener listener);
+
+    /**
+     * Redraws the series changed since the last paint and the overlay on the
+     * cached background and grid. This is cheaper than <tt>redraw()</tt> when
+     * only a few series are changed, e.g. plots are appended to some of many
+     * series. A series is drawn again if its data, style, label, error bars
+     * or stack are changed, together with the series drawn over it. The
+     * background and grid are also drawn again if the range of any axis or
+     * the size of plot area is changed.
+     * <p>
+     * The changes of background color, grid and custom paint behind series
+     * are not detected, and need <tt>redraw()</tt>.
+     */
+    public void redrawSeries();
+
+    /**
+     * Redraws only the overlay on the cached series, i.e. the custom paint
+     * listeners not drawing behind series and the paint listeners added to
+     * plot area. This is suitable for transient graphics following the mouse
+     * such as a selection rectangle or a crosshair, since neither the grid
+     * nor series are drawn again.
+     */
+    public void redrawOverlay();
 }
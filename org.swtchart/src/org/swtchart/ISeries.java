@@ -6,6 +6,9 @@
  *******************************************************************************/
 package org.swtchart;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
 import java.util.Date;
 
 import org.eclipse.swt.graphics.Point;
@@ -41,6 +44,34 @@ public interface ISeries {
         }
     }
 
+    /**
+     * A format of values in a file mapped into series. The values are stored
+     * in little-endian byte order without header.
+     */
+    public enum FileFormat {
+
+        /** the 64-bit floating-point values */
+        DOUBLE,
+
+        /** the 32-bit floating-point values */
+        FLOAT;
+    }
+
+    /**
+     * A precision of values stored in series.
+     */
+    public enum StoragePrecision {
+
+        /** the 64-bit floating-point values */
+        DOUBLE,
+
+        /** the 32-bit floating-point values */
+        FLOAT,
+
+        /** the 16-bit integer values with scale and offset */
+        SHORT;
+    }
+
     /**
      * Gets the series id.
      *
@@ -126,6 +157,222 @@ public interface ISeries {
      */
     double[] getYSeries();
 
+    /**
+     * Attaches the X series shared by multiple series. The X series is not
+     * copied, and is detached when X series is set in another way.
+     *
+     * @param series
+     *            the shared X series
+     * @throws IllegalArgumentException
+     *             if the shared X series was created by the series set of
+     *             another chart
+     */
+    void setSharedXSeries(ISharedXSeries series);
+
+    /**
+     * Gets the shared X series attached to this series.
+     *
+     * @return the shared X series, or <tt>null</tt> if not attached
+     */
+    ISharedXSeries getSharedXSeries();
+
+    /**
+     * Binds the X series to the given buffer without copying it.
+     * <p>
+     * The remaining values of buffer (i.e. from the current position to the
+     * limit) are the X series. The buffer is owned by the caller, and
+     * <tt>invalidate()</tt> has to be called after modifying the values or
+     * the position and limit of buffer. An array can be bound by wrapping it
+     * with <tt>DoubleBuffer.wrap(double[])</tt>.
+     *
+     * @param series
+     *            the buffer holding X series
+     */
+    void bindXSeries(DoubleBuffer series);
+
+    /**
+     * Binds the Y series to the given buffer without copying it.
+     * <p>
+     * The remaining values of buffer (i.e. from the current position to the
+     * limit) are the Y series. The buffer is owned by the caller, and
+     * <tt>invalidate()</tt> has to be called after modifying the values or
+     * the position and limit of buffer. An array can be bound by wrapping it
+     * with <tt>DoubleBuffer.wrap(double[])</tt>.
+     *
+     * @param series
+     *            the buffer holding Y series
+     */
+    void bindYSeries(DoubleBuffer series);
+
+    /**
+     * Maps the X series to the given file without loading it into heap.
+     * <p>
+     * The file is mapped into memory, and the values are read from the mapped
+     * region when compressing and drawing series. The file can be larger than
+     * heap, but cannot contain more than <tt>Integer.MAX_VALUE</tt> values.
+     *
+     * @param file
+     *            the file holding X series
+     * @param format
+     *            the format of values in file
+     * @throws IOException
+     *             if the file cannot be mapped
+     */
+    void mapXSeries(File file, FileFormat format) throws IOException;
+
+    /**
+     * Maps the Y series to the given file without loading it into heap.
+     * <p>
+     * The file is mapped into memory, and the values are read from the mapped
+     * region when compressing and drawing series. The file can be larger than
+     * heap, but cannot contain more than <tt>Integer.MAX_VALUE</tt> values.
+     * If X series is not set, the indexes of values are used as X series
+     * without being allocated.
+     *
+     * @param file
+     *            the file holding Y series
+     * @param format
+     *            the format of values in file
+     * @throws IOException
+     *             if the file cannot be mapped
+     */
+    void mapYSeries(File file, FileFormat format) throws IOException;
+
+    /**
+     * Sets the data provider, which is asked for the plots in X range each
+     * time the series is compressed, instead of holding the whole series.
+     * <p>
+     * While the data provider is set, <tt>getXSeries()</tt> and
+     * <tt>getYSeries()</tt> return the plots given by the last call of
+     * provider. The data provider is removed by setting X or Y series in
+     * another way.
+     *
+     * @param provider
+     *            the data provider
+     */
+    void setDataProvider(ISeriesDataProvider provider);
+
+    /**
+     * Gets the data provider.
+     *
+     * @return the data provider, or <tt>null</tt> if not set
+     */
+    ISeriesDataProvider getDataProvider();
+
+    /**
+     * Notifies that the values of series bound with
+     * <tt>bindXSeries(DoubleBuffer)</tt> or <tt>bindYSeries(DoubleBuffer)</tt>
+     * are modified. The range of series is found again, and the series is
+     * compressed again. If the data provider is set, its ranges and the plots
+     * in X range are asked again.
+     */
+    void invalidate();
+
+    /**
+     * Appends the plots to the end of series.
+     * <p>
+     * The series is held in ring buffers once plots are appended, so that
+     * appending plots doesn't copy the existing plots. If the number of plots
+     * exceeds the capacity given by <tt>setCapacity(int)</tt>, the oldest
+     * plots are discarded. The compressed series is extended incrementally if
+     * possible, rather than compressing the whole series again.
+     * <p>
+     * Only this series is compressed, unless the plots change the range of
+     * axis whose automatic adjustment is enabled. When appending plots to
+     * many series at once, the appends should be enclosed with
+     * <tt>Chart.beginUpdate()</tt> and <tt>Chart.endUpdate()</tt>, so that
+     * the ranges are adjusted and the series are compressed only once.
+     *
+     * @param xSeries
+     *            the X series to be appended
+     * @param ySeries
+     *            the Y series to be appended
+     * @throws IllegalArgumentException
+     *             if the lengths of X and Y series are different
+     */
+    void appendXYSeries(double[] xSeries, double[] ySeries);
+
+    /**
+     * Sets the maximum number of plots kept in series when appending plots
+     * with <tt>appendXYSeries(double[], double[])</tt>.
+     *
+     * @param capacity
+     *            the capacity, or 0 for unlimited capacity
+     * @throws IllegalArgumentException
+     *             if the capacity is negative
+     */
+    void setCapacity(int capacity);
+
+    /**
+     * Gets the maximum number of plots kept in series when appending plots.
+     *
+     * @return the capacity, or 0 if the capacity is unlimited
+     */
+    int getCapacity();
+
+    /**
+     * Sets the precision of values stored in Y series. The default precision
+     * is <tt>StoragePrecision.DOUBLE</tt>.
+     * <p>
+     * The Y series set with <tt>setYSeries(double[])</tt> is stored with the
+     * given precision, and the values are widened to double when compressing
+     * and drawing series. The current Y series set with
+     * <tt>setYSeries(double[])</tt> is stored again with the given precision
+     * only if it is held in full precision, i.e. with
+     * <tt>StoragePrecision.DOUBLE</tt>. The Y series already stored with lower
+     * precision is kept as it is, since the rounded values cannot be
+     * recovered, and the given precision is applied to the Y series set next
+     * time. Therefore, the precision and quantization should be set before
+     * setting Y series. The series bound to buffer, mapped to file, or
+     * appended with <tt>appendXYSeries(double[], double[])</tt> are held in
+     * their own precision.
+     *
+     * @param precision
+     *            the storage precision
+     */
+    void setStoragePrecision(StoragePrecision precision);
+
+    /**
+     * Gets the precision of values stored in Y series.
+     *
+     * @return the storage precision
+     */
+    StoragePrecision getStoragePrecision();
+
+    /**
+     * Sets the scale and offset to quantize Y series into 16-bit integers
+     * when the storage precision is <tt>StoragePrecision.SHORT</tt>. A value
+     * is stored as <tt>round((value - offset) / scale)</tt>, and the values
+     * beyond the range of 16-bit integer are clamped. The default scale and
+     * offset are 1 and 0.
+     * <p>
+     * The Y series already quantized is kept as it is, and the given scale and
+     * offset are applied to the Y series set next time, in the same way as
+     * <tt>setStoragePrecision(StoragePrecision)</tt>.
+     *
+     * @param scale
+     *            the difference of values between adjacent integers
+     * @param offset
+     *            the value represented by zero
+     * @throws IllegalArgumentException
+     *             if the scale is not positive
+     */
+    void setQuantization(double scale, double offset);
+
+    /**
+     * Gets the scale to quantize Y series into 16-bit integers.
+     *
+     * @return the scale
+     */
+    double getQuantizationScale();
+
+    /**
+     * Gets the offset to quantize Y series into 16-bit integers.
+     *
+     * @return the offset
+     */
+    double getQuantizationOffset();
+
     /**
      * Sets the X date series.
      * <p>
@@ -144,6 +391,31 @@ public interface ISeries {
      */
     Date[] getXDateSeries();
 
+    /**
+     * Sets the id of compressor registered in <tt>CompressorRegistry</tt>.
+     * <p>
+     * The series is compressed with the compressor created by the factory
+     * registered with the given id instead of the default compressor for the
+     * series type. The default compressor is still used while X series is not
+     * monotone increasing, since the compressors in the registry find the
+     * plots in X range with binary search.
+     *
+     * @param id
+     *            the compressor id, or <tt>null</tt> to use the default
+     *            compressor
+     * @throws IllegalArgumentException
+     *             if no compressor is registered with the given id
+     */
+    void setCompressorId(String id);
+
+    /**
+     * Gets the id of compressor registered in <tt>CompressorRegistry</tt>.
+     *
+     * @return the compressor id, or <tt>null</tt> if the default compressor
+     *         is used
+     */
+    String getCompressorId();
+
     /**
      * Gets the X axis id.
      *
@@ -212,4 +484,4 @@ public interface ISeries {
      *            the dispose listener
      */
     void addDisposeListener(IDisposeListener listener);
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart;
+
+import org.swtchart.dataset.xy.IXYDataset;
+
+/**
+ * A provider of the plots of series, which is asked for only the plots needed
+ * to draw the series in the current X range of axis.
+ * <p>
+ * The provider is used instead of giving the whole X and Y series to series,
+ * so that the plots don't have to be held in memory beyond what is visible.
+ * The plots can be read from a data store or a paged file, and can be
+ * aggregated for the given width, e.g. into the first, minimum, maximum and
+ * last plots in each column of pixels.
+ */
+public interface ISeriesDataProvider {
+
+    /**
+     * Gets the plots needed to draw series in the given X range.
+     * <p>
+     * The X series of the returned plots has to be monotone increasing. The
+     * plots adjacent to the given range should be included, so that the line
+     * can be drawn to the edges of plot area. This method is called when the
+     * series is compressed, which may be on a thread other than UI thread if
+     * an executor is set with <tt>Chart.setCompressExecutor(ExecutorService)</tt>.
+     * 
+     * @param xLower
+     *            the lower value of X range
+     * @param xUpper
+     *            the upper value of X range
+     * @param widthInPixel
+     *            the number of columns the X range is resolved into
+     * @return the plots, or <tt>null</tt> if there is no plot in the range
+     */
+    IXYDataset getXYSeries(double xLower, double xUpper, int widthInPixel);
+
+    /**
+     * Gets the X range of all plots, which is used to adjust the range of
+     * axis.
+     * 
+     * @return the X range
+     */
+    Range getXRange();
+
+    /**
+     * Gets the Y range of all plots, which is used to adjust the range of
+     * axis.
+     * 
+     * @return the Y range
+     */
+    Range getYRange();
+}
@@ -25,6 +25,16 @@ public interface ISeriesSet {
      */
     ISeries createSeries(SeriesType type, String id);
 
+    /**
+     * Creates the X series which can be shared by multiple series in this
+     * series set. The given array is copied.
+     * 
+     * @param series
+     *            the X series
+     * @return the shared X series
+     */
+    ISharedXSeries createSharedXSeries(double[] series);
+
     /**
      * Gets the series for given id.
      * 
@@ -82,4 +92,4 @@ public interface ISeriesSet {
      *            the series id
      */
     void sendToBack(String id);
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart;
+
+/**
+ * An X series shared by multiple series, e.g. the timestamps of channels in a
+ * multi-channel recording.
+ * <p>
+ * The series attached with <tt>ISeries.setSharedXSeries(ISharedXSeries)</tt>
+ * refer to this X series without copying it, and the range and monotonicity
+ * of X series are found only once. The plots in X range are also found only
+ * once for all attached series when compressing them. A series is detached
+ * when its X series is set in another way, or when it is deleted.
+ */
+public interface ISharedXSeries {
+
+    /**
+     * Sets the X series. The given array is copied, and the X series of all
+     * attached series are replaced.
+     *
+     * @param series
+     *            the X series
+     */
+    void setXSeries(double[] series);
+
+    /**
+     * Gets the X series.
+     *
+     * @return the X series
+     */
+    double[] getXSeries();
+
+    /**
+     * Gets the number of series attached to this X series.
+     *
+     * @return the number of attached series
+     */
+    int getReferenceCount();
+}
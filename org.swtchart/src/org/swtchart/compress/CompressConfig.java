@@ -4,7 +4,7 @@
  * This code is distributed under the terms of the Eclipse Public License v1.0
  * which is available at http://www.eclipse.org/legal/epl-v10.html
  *******************************************************************************/
-package org.swtchart.internal.compress;
+package org.swtchart.compress;
 
 /**
  * Configuration for compression.
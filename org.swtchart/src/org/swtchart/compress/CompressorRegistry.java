@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.compress;
+
+import java.util.LinkedHashMap;
+import java.util.Set;
+
+import org.eclipse.swt.SWT;
+import org.swtchart.ISeries;
+import org.swtchart.internal.compress.CompressLargestTriangleSeries;
+import org.swtchart.internal.compress.CompressMinMaxLineSeries;
+
+/**
+ * A registry of compressors which can be set to series with
+ * <tt>ISeries.setCompressorId(String)</tt>.
+ * <p>
+ * The following compressors are registered by default.
+ * <ul>
+ * <li><tt>LARGEST_TRIANGLE</tt>: Largest-Triangle-Three-Buckets downsampling
+ * which reduces the plots to the fixed number derived from the plot area width.
+ * </li>
+ * <li><tt>MIN_MAX</tt>: the first, last, minimum and maximum plots are kept in
+ * each column.</li>
+ * </ul>
+ * Both compressors require X series to be monotone increasing.
+ */
+public final class CompressorRegistry {
+
+    /** the id of Largest-Triangle-Three-Buckets compressor */
+    public static final String LARGEST_TRIANGLE = "lttb";
+
+    /** the id of min/max compressor */
+    public static final String MIN_MAX = "minmax";
+
+    /** the compressor factories */
+    private static final LinkedHashMap<String, ICompressorFactory> factories = new LinkedHashMap<String, ICompressorFactory>();
+
+    static {
+        register(LARGEST_TRIANGLE, new ICompressorFactory() {
+            public ICompress createCompressor(ISeries series) {
+                return new CompressLargestTriangleSeries();
+            }
+        });
+        register(MIN_MAX, new ICompressorFactory() {
+            public ICompress createCompressor(ISeries series) {
+                return new CompressMinMaxLineSeries();
+            }
+        });
+    }
+
+    /**
+     * Constructor.
+     */
+    private CompressorRegistry() {
+        // no instance
+    }
+
+    /**
+     * Registers the compressor factory. If a factory for the given id already
+     * exists, the existing factory will be overwritten. The series which
+     * already use the compressor for the given id are not affected.
+     * 
+     * @param id
+     *            the compressor id
+     * @param factory
+     *            the compressor factory
+     */
+    public static synchronized void register(String id,
+            ICompressorFactory factory) {
+        if (id == null || factory == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+        }
+        factories.put(id, factory);
+    }
+
+    /**
+     * Unregisters the compressor factory for the given id. The series which
+     * already use the compressor for the given id are not affected.
+     * 
+     * @param id
+     *            the compressor id
+     */
+    public static synchronized void unregister(String id) {
+        if (id == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+        }
+        factories.remove(id);
+    }
+
+    /**
+     * Gets the compressor factory for the given id.
+     * 
+     * @param id
+     *            the compressor id
+     * @return the compressor factory, or null if there is no factory for the
+     *         given id
+     */
+    public static synchronized ICompressorFactory getFactory(String id) {
+        if (id == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+        }
+        return factories.get(id);
+    }
+
+    /**
+     * Gets the array of registered compressor ids.
+     * 
+     * @return the array of registered compressor ids
+     */
+    public static synchronized String[] getIds() {
+        Set<String> keys = factories.keySet();
+        return keys.toArray(new String[keys.size()]);
+    }
+}
@@ -4,10 +4,15 @@
  * This code is distributed under the terms of the Eclipse Public License v1.0
  * which is available at http://www.eclipse.org/legal/epl-v10.html
  *******************************************************************************/
-package org.swtchart.internal.compress;
+package org.swtchart.compress;
 
 /**
  * A Compressor.
+ * <p>
+ * A compressor reduces the plots of series to those necessary to draw the
+ * series with the given configuration. Custom compressors can be registered to
+ * <tt>CompressorRegistry</tt> with <tt>ICompressorFactory</tt>, and can be
+ * set to series with <tt>ISeries.setCompressorId(String)</tt>.
  */
 public interface ICompress {
 
@@ -57,4 +62,4 @@ public interface ICompress {
      */
     public abstract boolean compress(CompressConfig config);
 
-}
\ No newline at end of file
+}
\ No newline at end of file
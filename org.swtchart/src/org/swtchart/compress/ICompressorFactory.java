@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.compress;
+
+import org.swtchart.ISeries;
+
+/**
+ * A factory to create compressor for series.
+ */
+public interface ICompressorFactory {
+
+    /**
+     * Creates a compressor. Since compressor keeps the state of compression
+     * for each series, a new instance has to be created for each call.
+     * 
+     * @param series
+     *            the series to be compressed
+     * @return the compressor
+     */
+    ICompress createCompressor(ISeries series);
+}
@@ -3,59 +3,134 @@
  */
 package org.swtchart.dataset.xy;
 
-import java.util.ArrayList;
+import java.nio.DoubleBuffer;
 
 /**
+ * A data set holding the x-y points in arrays of primitive double, which grow
+ * geometrically when they are full.
+ *
  * @author nbraun
  *
  */
 public class XYDataset implements IXYDataset {
 
-	ArrayList<Double> valuesX;
-	ArrayList<Double> valuesY;
+	/** the initial capacity of arrays */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** the x values, whose length is the capacity */
+	private double[] valuesX;
+
+	/** the y values, whose length is the capacity */
+	private double[] valuesY;
+
+	/** the number of points */
+	private int size;
 
 	public XYDataset() {
-		valuesX = new ArrayList<Double>();
-		valuesY = new ArrayList<Double>();
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Create a data set with the given initial capacity.
+	 * @param capacity the number of points which can be added without growing
+	 */
+	public XYDataset(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException(
+					"Capacity cannot be negative value.");
+		}
+		valuesX = new double[capacity];
+		valuesY = new double[capacity];
 	}
 
 	@Override
 	public void add(double x, double y) {
-		valuesX.add(x);
-		valuesY.add(y);
+		if (size == valuesX.length) {
+			grow(size + 1);
+		}
+		valuesX[size] = x;
+		valuesY[size] = y;
+		size++;
 	}
 
-	@Override
-	public double[] getXvalues() {
-		double[] ret = new double[valuesX.size()];
+	/**
+	 * Add the x-y points to a data set at once.
+	 * @param x coordinate values of x
+	 * @param y coordinate values of y, which must have the same length as x
+	 */
+	public void addAll(double[] x, double[] y) {
+		if (x.length != y.length) {
+			throw new IllegalArgumentException(
+					"X and Y series must have the same length.");
+		}
+		if (size + x.length > valuesX.length) {
+			grow(size + x.length);
+		}
+		System.arraycopy(x, 0, valuesX, size, x.length);
+		System.arraycopy(y, 0, valuesY, size, y.length);
+		size += x.length;
+	}
 
-		for (int i = 0; i < ret.length; i++) {
-			ret[i] = valuesX.get(i);
+	/**
+	 * Grow the arrays at least to the given capacity.
+	 * @param capacity the minimum capacity
+	 */
+	private void grow(int capacity) {
+		int newCapacity = (int) Math.min(Math.max(valuesX.length * 2L,
+				Math.max(capacity, INITIAL_CAPACITY)), Integer.MAX_VALUE - 8);
+		if (newCapacity < capacity) {
+			throw new OutOfMemoryError("Data set cannot hold more points.");
 		}
+		double[] newValuesX = new double[newCapacity];
+		double[] newValuesY = new double[newCapacity];
+		System.arraycopy(valuesX, 0, newValuesX, 0, size);
+		System.arraycopy(valuesY, 0, newValuesY, 0, size);
+		valuesX = newValuesX;
+		valuesY = newValuesY;
+	}
 
+	@Override
+	public double[] getXvalues() {
+		double[] ret = new double[size];
+		System.arraycopy(valuesX, 0, ret, 0, size);
 		return ret;
 	}
 
 	@Override
 	public double[] getYvalues() {
-		double[] ret = new double[valuesY.size()];
-
-		for (int i = 0; i < ret.length; i++) {
-			ret[i] = valuesY.get(i);
-		}
+		double[] ret = new double[size];
+		System.arraycopy(valuesY, 0, ret, 0, size);
 		return ret;
 	}
 
+	/**
+	 * Returns a view of X-values of this data set without copying them, which
+	 * can be bound to series with <code>ISeries.bindXSeries(DoubleBuffer)</code>.
+	 * The view is valid until points are added beyond the current capacity.
+	 * @return the buffer whose remaining values are the x values
+	 */
+	public DoubleBuffer getXBuffer() {
+		return DoubleBuffer.wrap(valuesX, 0, size).slice();
+	}
+
+	/**
+	 * Returns a view of Y-values of this data set without copying them, which
+	 * can be bound to series with <code>ISeries.bindYSeries(DoubleBuffer)</code>.
+	 * The view is valid until points are added beyond the current capacity.
+	 * @return the buffer whose remaining values are the y values
+	 */
+	public DoubleBuffer getYBuffer() {
+		return DoubleBuffer.wrap(valuesY, 0, size).slice();
+	}
 
 	@Override
 	public int size() {
-		return valuesX.size();
+		return size;
 	}
 
 	@Override
 	public void clear() {
-		valuesX.clear();
-		valuesY.clear();
+		size = 0;
 	}
 
 }
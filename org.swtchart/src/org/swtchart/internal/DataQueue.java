@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+import org.swtchart.Chart;
+import org.swtchart.IDataQueue;
+import org.swtchart.IPlotArea;
+import org.swtchart.ISeries;
+
+/**
+ * A queue of plots to be appended to series.
+ */
+public class DataQueue implements IDataQueue {
+
+    /** the default maximum number of batches */
+    private static final int DEFAULT_MAX_DEPTH = 10000;
+
+    /** the default redraw interval in milliseconds */
+    private static final int DEFAULT_REDRAW_INTERVAL = 30;
+
+    /** the chart */
+    private final Chart chart;
+
+    /** the display */
+    private final Display display;
+
+    /** the queued batches */
+    private final ConcurrentLinkedQueue<Batch> batches;
+
+    /** the number of queued batches */
+    private final AtomicInteger depth;
+
+    /** the number of dropped batches */
+    private final AtomicLong droppedCount;
+
+    /** the state indicating if draining the queue is scheduled */
+    private final AtomicBoolean scheduled;
+
+    /** the maximum number of batches */
+    private volatile int maxDepth;
+
+    /** the redraw interval in milliseconds */
+    private volatile int redrawInterval;
+
+    /** the runnable to schedule draining the queue on UI thread */
+    private final Runnable scheduler = new Runnable() {
+        public void run() {
+            if (!chart.isDisposed()) {
+                display.timerExec(redrawInterval, drainer);
+            }
+        }
+    };
+
+    /** the runnable to drain the queue on UI thread */
+    private final Runnable drainer = new Runnable() {
+        public void run() {
+            drain();
+        }
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param chart
+     *            the chart
+     */
+    public DataQueue(Chart chart) {
+        this.chart = chart;
+        display = chart.getDisplay();
+        batches = new ConcurrentLinkedQueue<Batch>();
+        depth = new AtomicInteger();
+        droppedCount = new AtomicLong();
+        scheduled = new AtomicBoolean();
+        maxDepth = DEFAULT_MAX_DEPTH;
+        redrawInterval = DEFAULT_REDRAW_INTERVAL;
+    }
+
+    /*
+     * @see IDataQueue#appendXYSeries(String, double[], double[])
+     */
+    public boolean appendXYSeries(String id, double[] xSeries,
+            double[] ySeries) {
+        if (id == null || xSeries == null || ySeries == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return false; // to suppress warning...
+        }
+        if (xSeries.length != ySeries.length) {
+            throw new IllegalArgumentException(
+                    "X and Y series must have the same length.");
+        }
+
+        if (depth.incrementAndGet() > maxDepth) {
+            depth.decrementAndGet();
+            droppedCount.incrementAndGet();
+            return false;
+        }
+
+        double[] copiedXSeries = new double[xSeries.length];
+        double[] copiedYSeries = new double[ySeries.length];
+        System.arraycopy(xSeries, 0, copiedXSeries, 0, xSeries.length);
+        System.arraycopy(ySeries, 0, copiedYSeries, 0, ySeries.length);
+        batches.offer(new Batch(id, copiedXSeries, copiedYSeries));
+
+        // the queue is drained once for all batches queued until then
+        if (scheduled.compareAndSet(false, true) && !display.isDisposed()) {
+            display.asyncExec(scheduler);
+        }
+        return true;
+    }
+
+    /**
+     * Drains the queue, appends the plots to series, and redraws the chart.
+     */
+    private void drain() {
+        scheduled.set(false);
+
+        // group the batches by series keeping the order of series
+        Map<String, List<Batch>> groups = new LinkedHashMap<String, List<Batch>>();
+        Batch batch;
+        while ((batch = batches.poll()) != null) {
+            depth.decrementAndGet();
+            List<Batch> group = groups.get(batch.id);
+            if (group == null) {
+                group = new ArrayList<Batch>();
+                groups.put(batch.id, group);
+            }
+            group.add(batch);
+        }
+
+        if (chart.isDisposed() || groups.isEmpty()) {
+            return;
+        }
+
+        // the series are compressed and laid out once for all series
+        chart.beginUpdate();
+        try {
+            for (Entry<String, List<Batch>> entry : groups.entrySet()) {
+                List<Batch> group = entry.getValue();
+                ISeries series = chart.getSeriesSet().getSeries(entry.getKey());
+                if (series == null) {
+                    droppedCount.addAndGet(group.size());
+                    continue;
+                }
+
+                if (group.size() == 1) {
+                    series.appendXYSeries(group.get(0).xSeries,
+                            group.get(0).ySeries);
+                    continue;
+                }
+
+                int length = 0;
+                for (Batch b : group) {
+                    length += b.xSeries.length;
+                }
+                double[] xSeries = new double[length];
+                double[] ySeries = new double[length];
+                int position = 0;
+                for (Batch b : group) {
+                    System.arraycopy(b.xSeries, 0, xSeries, position,
+                            b.xSeries.length);
+                    System.arraycopy(b.ySeries, 0, ySeries, position,
+                            b.ySeries.length);
+                    position += b.xSeries.length;
+                }
+                series.appendXYSeries(xSeries, ySeries);
+            }
+        } finally {
+            chart.endUpdate();
+        }
+
+        // the axes are drawn again, but the plot area draws again only the
+        // series having appended plots unless the axis ranges are changed
+        Point size = chart.getSize();
+        chart.redraw(0, 0, size.x, size.y, false);
+        ((IPlotArea) chart.getPlotArea()).redrawSeries();
+    }
+
+    /*
+     * @see IDataQueue#getDepth()
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    /*
+     * @see IDataQueue#getDroppedCount()
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /*
+     * @see IDataQueue#setMaxDepth(int)
+     */
+    public void setMaxDepth(int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum depth must be positive value.");
+        }
+        maxDepth = depth;
+    }
+
+    /*
+     * @see IDataQueue#getMaxDepth()
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /*
+     * @see IDataQueue#setRedrawInterval(int)
+     */
+    public void setRedrawInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException(
+                    "Redraw interval cannot be negative value.");
+        }
+        redrawInterval = interval;
+    }
+
+    /*
+     * @see IDataQueue#getRedrawInterval()
+     */
+    public int getRedrawInterval() {
+        return redrawInterval;
+    }
+
+    /**
+     * A batch of plots to be appended to a series.
+     */
+    private static class Batch {
+
+        /** the series id */
+        final String id;
+
+        /** the X series */
+        final double[] xSeries;
+
+        /** the Y series */
+        final double[] ySeries;
+
+        /**
+         * Constructor.
+         *
+         * @param id
+         *            the series id
+         * @param xSeries
+         *            the X series
+         * @param ySeries
+         *            the Y series
+         */
+        Batch(String id, double[] xSeries, double[] ySeries) {
+            this.id = id;
+            this.xSeries = xSeries;
+            this.ySeries = ySeries;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.swtchart.Chart;
@@ -26,11 +27,31 @@ import org.swtchart.ILineSeries;
 import org.swtchart.IPlotArea;
 import org.swtchart.ISeries;
 import org.swtchart.ISeriesSet;
+import org.swtchart.internal.axis.Axis;
+import org.swtchart.internal.axis.CoordinateTransform;
 import org.swtchart.internal.series.Series;
 import org.swtchart.internal.series.SeriesSet;
 
 /**
  * Plot area to draw series and grids.
+ * <p>
+ * The plot area is painted in three layers. The background layer with the
+ * grid and the custom paint behind series, and the series layer drawn on it
+ * are cached in images, and the overlay layer with the custom paint over
+ * series and the paint listeners added to plot area is painted on each paint
+ * event. <tt>redraw()</tt> updates all layers, <tt>redrawSeries()</tt> keeps
+ * the background layer, and <tt>redrawOverlay()</tt> keeps both caches.
+ * <p>
+ * The series layer is updated only from the first series changed since the
+ * last paint in drawing order. The unchanged series below it are kept in
+ * another image cache drawn on the background, since SWT has no portable way
+ * to compose images with alpha channel drawn by graphics context. The
+ * background layer is updated also when the range of any axis or the size
+ * of plot area is changed.
+ * <p>
+ * The image caches are reused across paints, and may be larger than plot
+ * area. They are reallocated only if plot area grows beyond them or shrinks
+ * to a fraction of them.
  */
 public class PlotArea extends Composite implements PaintListener, IPlotArea {
 
@@ -40,11 +61,35 @@ public class PlotArea extends Composite implements PaintListener, IPlotArea {
     /** the set of plots */
     protected SeriesSet seriesSet;
 
-    /** the image cache */
-    private Image imageCache;
+    /** the image cache of background, grid and custom paint behind series */
+    private Image backgroundCache;
 
-    /** the state indicating if image cache has to be updated */
-    private boolean updateImageCache;
+    /** the image cache of unchanged series drawn on background cache */
+    private Image baseCache;
+
+    /** the number of series drawn on base cache in drawing order */
+    private int baseCount;
+
+    /** the image cache of all series drawn on base cache */
+    private Image seriesCache;
+
+    /** the series drawn on series cache in drawing order */
+    private List<Series> drawnSeries;
+
+    /** the revisions of series drawn on series cache */
+    private int[] drawnRevisions;
+
+    /** the transforms of axes when background cache is drawn */
+    private List<CoordinateTransform> drawnTransforms;
+
+    /** the size of plot area when background cache is drawn */
+    private Point drawnSize;
+
+    /** the state indicating if background cache has to be updated */
+    private boolean updateBackgroundCache;
+
+    /** the state indicating if series cache has to be updated */
+    private boolean updateSeriesCache;
 
     /** the custom paint listeners */
     List<ICustomPaintListener> paintListeners;
@@ -52,6 +97,12 @@ public class PlotArea extends Composite implements PaintListener, IPlotArea {
     /** the default background color */
     private static final int DEFAULT_BACKGROUND = SWT.COLOR_WHITE;
 
+    /** the ratio of margin to plot area size when allocating image cache */
+    private static final double IMAGE_MARGIN_RATIO = 0.125;
+
+    /** the ratio of image cache size to plot area size to reallocate it */
+    private static final int IMAGE_SHRINK_RATIO = 2;
+
     /**
      * Constructor.
      *
@@ -66,7 +117,8 @@ public class PlotArea extends Composite implements PaintListener, IPlotArea {
         this.chart = chart;
 
         seriesSet = new SeriesSet(chart);
-        updateImageCache = true;
+        updateBackgroundCache = true;
+        updateSeriesCache = true;
         paintListeners = new ArrayList<ICustomPaintListener>();
 
         setBackground(Display.getDefault().getSystemColor(DEFAULT_BACKGROUND));
@@ -118,60 +170,255 @@ public class PlotArea extends Composite implements PaintListener, IPlotArea {
         paintListeners.remove(listener);
     }
 
+    /*
+     * @see IPlotArea#redrawSeries()
+     */
+    public void redrawSeries() {
+        updateSeriesCache = true;
+        super.redraw();
+    }
+
+    /*
+     * @see IPlotArea#redrawOverlay()
+     */
+    public void redrawOverlay() {
+        super.redraw();
+    }
+
     /*
      * @see PaintListener#paintControl(PaintEvent)
      */
     public void paintControl(PaintEvent e) {
-        if (updateImageCache) {
-            Point p = getSize();
-            if (imageCache != null && !imageCache.isDisposed()) {
-                imageCache.dispose();
+        Point p = getSize();
+
+        // the layers are painted with the event covering the whole plot area
+        GC prevGC = e.gc;
+        int prevX = e.x;
+        int prevY = e.y;
+        int prevWidth = e.width;
+        int prevHeight = e.height;
+        e.x = 0;
+        e.y = 0;
+        e.width = p.x;
+        e.height = p.y;
+
+        if (updateBackgroundCache || updateSeriesCache) {
+            List<CoordinateTransform> transforms = getCoordinateTransforms();
+            if (!transforms.equals(drawnTransforms)
+                    || !p.equals(drawnSize)) {
+                updateBackgroundCache = true;
             }
-            imageCache = new Image(Display.getCurrent(), p.x, p.y);
-            GC gc = new GC(imageCache);
 
-            // draw the plot area background
-            gc.setBackground(getBackground());
-            gc.fillRectangle(0, 0, p.x, p.y);
+            if (updateBackgroundCache) {
+                backgroundCache = getImage(backgroundCache, p);
+                GC gc = new GC(backgroundCache);
+                e.gc = gc;
+                drawBackground(e, p);
+                e.gc = prevGC;
+                gc.dispose();
+                drawnTransforms = transforms;
+                drawnSize = p;
+                drawnSeries = null;
+                updateBackgroundCache = false;
+            }
+
+            updateSeriesCache(p);
+            updateSeriesCache = false;
+        }
+
+        drawImage(e.gc, seriesCache, p);
 
-            // draw grid
-            for (IAxis axis : chart.getAxisSet().getAxes()) {
-                ((Grid) axis.getGrid()).draw(gc, p.x, p.y);
+        // draw over series
+        for (ICustomPaintListener listener : paintListeners) {
+            if (!listener.drawBehindSeries()) {
+                listener.paintControl(e);
             }
+        }
+
+        e.x = prevX;
+        e.y = prevY;
+        e.width = prevWidth;
+        e.height = prevHeight;
+    }
+
+    /**
+     * Updates the series cache from the first series changed since the last
+     * update in drawing order.
+     *
+     * @param size
+     *            the size of plot area
+     */
+    private void updateSeriesCache(Point size) {
+        List<Series> series = getSeriesInDrawingOrder();
+        int[] revisions = new int[series.size()];
+        for (int i = 0; i < revisions.length; i++) {
+            revisions[i] = series.get(i).getRevision();
+        }
 
-            // draw behind series
-            GC prevGC = e.gc;
-            e.gc = gc;
-            for (ICustomPaintListener listener : paintListeners) {
-                if (listener.drawBehindSeries()) {
-                    listener.paintControl(e);
-                }
+        // find the first series changed since the last update
+        int first = 0;
+        if (drawnSeries != null) {
+            while (first < series.size() && first < drawnSeries.size()
+                    && series.get(first) == drawnSeries.get(first)
+                    && revisions[first] == drawnRevisions[first]) {
+                first++;
+            }
+            if (first == series.size() && first == drawnSeries.size()) {
+                return;
             }
+        }
+
+        // keep the unchanged series below the first changed one in base cache
+        GC gc;
+        if (drawnSeries == null || first < baseCount) {
+            baseCache = getImage(baseCache, size);
+            gc = new GC(baseCache);
+            drawImage(gc, backgroundCache, size);
+            baseCount = 0;
+        } else {
+            gc = new GC(baseCache);
+        }
+        drawSeries(gc, size, series, baseCount, first);
+        gc.dispose();
+        baseCount = first;
+
+        // draw the changed series and the series over them
+        seriesCache = getImage(seriesCache, size);
+        gc = new GC(seriesCache);
+        drawImage(gc, baseCache, size);
+        drawSeries(gc, size, series, first, series.size());
+        gc.dispose();
 
-            // draw series. The line series should be drawn on bar series.
-            for (ISeries series : chart.getSeriesSet().getSeries()) {
-                if (series instanceof IBarSeries) {
-                    ((Series) series).draw(gc, p.x, p.y);
-                }
+        drawnSeries = series;
+        drawnRevisions = revisions;
+    }
+
+    /**
+     * Gets the series in drawing order. The line series should be drawn on
+     * bar series.
+     *
+     * @return the series in drawing order
+     */
+    private List<Series> getSeriesInDrawingOrder() {
+        List<Series> series = new ArrayList<Series>();
+        for (ISeries s : chart.getSeriesSet().getSeries()) {
+            if (s instanceof IBarSeries) {
+                series.add((Series) s);
             }
-            for (ISeries series : chart.getSeriesSet().getSeries()) {
-                if (series instanceof ILineSeries) {
-                    ((Series) series).draw(gc, p.x, p.y);
-                }
+        }
+        for (ISeries s : chart.getSeriesSet().getSeries()) {
+            if (s instanceof ILineSeries) {
+                series.add((Series) s);
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Gets the transforms of all axes, which determine the grid and the
+     * position of series.
+     *
+     * @return the transforms of axes
+     */
+    private List<CoordinateTransform> getCoordinateTransforms() {
+        List<CoordinateTransform> transforms;
+        transforms = new ArrayList<CoordinateTransform>();
+        for (IAxis axis : chart.getAxisSet().getAxes()) {
+            transforms.add(((Axis) axis).getCoordinateTransform());
+        }
+        return transforms;
+    }
+
+    /**
+     * Gets the image cache which can hold the given size. The previous image
+     * cache is kept unless it is smaller than the given size or much larger
+     * than it, and is allocated with margin, so that resizing plot area by a
+     * few pixels doesn't allocate images each time.
+     *
+     * @param image
+     *            the previous image cache, or <tt>null</tt>
+     * @param size
+     *            the size of plot area
+     * @return the image cache
+     */
+    private Image getImage(Image image, Point size) {
+        int width = Math.max(size.x, 1);
+        int height = Math.max(size.y, 1);
+        if (image != null && !image.isDisposed()) {
+            Rectangle bounds = image.getBounds();
+            if (bounds.width >= width && bounds.height >= height
+                    && bounds.width <= width * IMAGE_SHRINK_RATIO
+                    && bounds.height <= height * IMAGE_SHRINK_RATIO) {
+                return image;
             }
+            image.dispose();
+        }
+        return new Image(Display.getCurrent(), width
+                + (int) (width * IMAGE_MARGIN_RATIO), height
+                + (int) (height * IMAGE_MARGIN_RATIO));
+    }
+
+    /**
+     * Draws the area of image cache covering the plot area.
+     *
+     * @param gc
+     *            the graphics context
+     * @param image
+     *            the image cache
+     * @param size
+     *            the size of plot area
+     */
+    private static void drawImage(GC gc, Image image, Point size) {
+        if (size.x > 0 && size.y > 0) {
+            gc.drawImage(image, 0, 0, size.x, size.y, 0, 0, size.x, size.y);
+        }
+    }
+
+    /**
+     * Draws the background, the grid and the custom paint behind series.
+     *
+     * @param e
+     *            the paint event whose graphics context draws on image cache
+     * @param size
+     *            the size of plot area
+     */
+    private void drawBackground(PaintEvent e, Point size) {
+        // draw the plot area background
+        e.gc.setBackground(getBackground());
+        e.gc.fillRectangle(0, 0, size.x, size.y);
+
+        // draw grid
+        for (IAxis axis : chart.getAxisSet().getAxes()) {
+            ((Grid) axis.getGrid()).draw(e.gc, size.x, size.y);
+        }
 
-            // draw over series
-            for (ICustomPaintListener listener : paintListeners) {
-                if (!listener.drawBehindSeries()) {
-                    listener.paintControl(e);
-                }
+        // draw behind series
+        for (ICustomPaintListener listener : paintListeners) {
+            if (listener.drawBehindSeries()) {
+                listener.paintControl(e);
             }
-            e.gc = prevGC;
+        }
+    }
 
-            gc.dispose();
-            updateImageCache = false;
+    /**
+     * Draws the series in the given range of drawing order.
+     *
+     * @param gc
+     *            the graphics context drawing on image cache
+     * @param size
+     *            the size of plot area
+     * @param series
+     *            the series in drawing order
+     * @param start
+     *            the index of first series to be drawn
+     * @param end
+     *            the index after the last series to be drawn
+     */
+    private void drawSeries(GC gc, Point size, List<Series> series, int start,
+            int end) {
+        for (int i = start; i < end; i++) {
+            series.get(i).draw(gc, size.x, size.y);
         }
-        e.gc.drawImage(imageCache, 0, 0);
     }
 
     /*
@@ -180,7 +427,7 @@ public class PlotArea extends Composite implements PaintListener, IPlotArea {
     @Override
     public void update() {
         super.update();
-        updateImageCache = true;
+        updateBackgroundCache = true;
     }
 
     /*
@@ -189,7 +436,7 @@ public class PlotArea extends Composite implements PaintListener, IPlotArea {
     @Override
     public void redraw() {
         super.redraw();
-        updateImageCache = true;
+        updateBackgroundCache = true;
     }
 
     /*
@@ -199,8 +446,14 @@ public class PlotArea extends Composite implements PaintListener, IPlotArea {
     public void dispose() {
         super.dispose();
         seriesSet.dispose();
-        if (imageCache != null && !imageCache.isDisposed()) {
-            imageCache.dispose();
+        if (backgroundCache != null && !backgroundCache.isDisposed()) {
+            backgroundCache.dispose();
+        }
+        if (baseCache != null && !baseCache.isDisposed()) {
+            baseCache.dispose();
+        }
+        if (seriesCache != null && !seriesCache.isDisposed()) {
+            seriesCache.dispose();
         }
     }
 }
@@ -90,6 +90,9 @@ public class Axis implements IAxis {
     /** the number of riser per category */
     private int numRisers;
 
+    /** the state indicating if the range is adjusted automatically */
+    private boolean autoAdjustRangeEnabled;
+
     /** the state indicating if the axis is horizontal */
     private boolean isHorizontalAxis;
 
@@ -102,6 +105,9 @@ public class Axis implements IAxis {
     /** the list of dispose listeners */
     private List<IDisposeListener> listeners;
 
+    /** the transform from data coordinates to pixel coordinates */
+    private CoordinateTransform transform;
+
     /**
      * Constructor.
      * 
@@ -133,6 +139,7 @@ public class Axis implements IAxis {
         }
         logScaleEnabled = false;
         categoryAxisEnabled = false;
+        updateTransform();
     }
 
     /*
@@ -230,6 +237,8 @@ public class Axis implements IAxis {
             max = range.upper;
         }
 
+        updateTransform();
+
         if (update) {
             chart.updateLayout();
         }
@@ -292,6 +301,7 @@ public class Axis implements IAxis {
         }
 
         logScaleEnabled = enabled;
+        updateTransform();
 
         chart.updateLayout();
 
@@ -383,7 +393,87 @@ public class Axis implements IAxis {
             }
         }
 
-        // set adjusted range
+        setAdjustedRange(minimum, maximum, update);
+    }
+
+    /*
+     * @see IAxis#adjustRangeToXRange()
+     */
+    public void adjustRangeToXRange() {
+        adjustRangeToXRange(true);
+    }
+
+    /**
+     * Adjusts the Y axis range to the plots of series within the current
+     * range of their X axes. The X axis and the category axis are adjusted in
+     * the same way as <tt>adjustRange(boolean)</tt>.
+     * 
+     * @param update
+     *            true if updating chart layout
+     * @return true if the axis range is changed
+     */
+    public boolean adjustRangeToXRange(boolean update) {
+        double prevMin = min;
+        double prevMax = max;
+        if (direction == Direction.X || isValidCategoryAxis()) {
+            adjustRange(update);
+            return min != prevMin || max != prevMax;
+        }
+
+        double minimum = Double.NaN;
+        double maximum = Double.NaN;
+        for (ISeries series : chart.getSeriesSet().getSeries()) {
+            if (!series.isVisible() || getId() != series.getYAxisId()) {
+                continue;
+            }
+            IAxis xAxis = chart.getAxisSet().getXAxis(series.getXAxisId());
+            if (xAxis == null) {
+                continue;
+            }
+
+            // get min and max value of plots within X axis range
+            Range xRange = xAxis.getRange();
+            Range yRange = ((Series) series).getYRange(xRange.lower,
+                    xRange.upper);
+            if (yRange == null) {
+                continue;
+            }
+
+            // get axis length
+            int length;
+            if (isHorizontalAxis) {
+                length = chart.getPlotArea().getSize().x;
+            } else {
+                length = chart.getPlotArea().getSize().y;
+            }
+
+            Range range = ((Series) series).getAdjustedYRange(this, length,
+                    yRange);
+            if (Double.isNaN(minimum) || range.lower < minimum) {
+                minimum = range.lower;
+            }
+            if (Double.isNaN(maximum) || range.upper > maximum) {
+                maximum = range.upper;
+            }
+        }
+
+        setAdjustedRange(minimum, maximum, update);
+        return min != prevMin || max != prevMax;
+    }
+
+    /**
+     * Sets the range adjusted to series, widening it if the minimum and
+     * maximum values are identical.
+     * 
+     * @param minimum
+     *            the minimum value, or <tt>NaN</tt> if no series is found
+     * @param maximum
+     *            the maximum value, or <tt>NaN</tt> if no series is found
+     * @param update
+     *            true if updating chart layout
+     */
+    private void setAdjustedRange(double minimum, double maximum,
+            boolean update) {
         if (!Double.isNaN(minimum) && !Double.isNaN(maximum)) {
             if (minimum == maximum) {
                 double margin = (minimum == 0)? 1d : Math.abs(minimum / 2d);
@@ -394,6 +484,26 @@ public class Axis implements IAxis {
         }
     }
 
+    /*
+     * @see IAxis#enableAutoAdjustRange(boolean)
+     */
+    public void enableAutoAdjustRange(boolean enabled) {
+        if (autoAdjustRangeEnabled == enabled) {
+            return;
+        }
+        autoAdjustRangeEnabled = enabled;
+        if (enabled) {
+            adjustRangeToXRange(true);
+        }
+    }
+
+    /*
+     * @see IAxis#isAutoAdjustRangeEnabled()
+     */
+    public boolean isAutoAdjustRangeEnabled() {
+        return autoAdjustRangeEnabled;
+    }
+
     /*
      * @see IAxis#zoomIn()
      */
@@ -566,6 +676,7 @@ public class Axis implements IAxis {
         }
 
         categoryAxisEnabled = enabled;
+        updateTransform();
 
         chart.updateLayout();
 
@@ -595,6 +706,7 @@ public class Axis implements IAxis {
             max = (max >= categorySeries.length) ? max = categorySeries.length - 1
                     : (int) max;
         }
+        updateTransform();
 
         chart.updateLayout();
 
@@ -622,7 +734,27 @@ public class Axis implements IAxis {
      * @see IAxis#getPixelCoordinate(double)
      */
     public int getPixelCoordinate(double dataCoordinate) {
-        return getPixelCoordinate(dataCoordinate, min, max);
+        return transform.getPixelCoordinate(dataCoordinate);
+    }
+
+    /**
+     * Gets the transform from data coordinates to pixel coordinates on plot
+     * area for the current axis range. The transform is replaced when the
+     * range, scale or plot area size is changed.
+     * 
+     * @return the transform
+     */
+    public CoordinateTransform getCoordinateTransform() {
+        return transform;
+    }
+
+    /**
+     * Updates the transform from data coordinates to pixel coordinates.
+     */
+    private void updateTransform() {
+        transform = new CoordinateTransform(min, max,
+                isHorizontalAxis ? width : height, isHorizontalAxis,
+                logScaleEnabled, categoryAxisEnabled);
     }
 
     /**
@@ -785,6 +917,7 @@ public class Axis implements IAxis {
                 || (direction == Direction.Y && orientation == SWT.VERTICAL);
         width = chart.getPlotArea().getBounds().width;
         height = chart.getPlotArea().getBounds().height;
+        updateTransform();
     }
 
     /**
@@ -265,6 +265,28 @@ public class AxisSet implements IAxisSet {
         chart.updateLayout();
     }
 
+    /**
+     * Adjusts the ranges of axes whose automatic adjustment is enabled. The X
+     * axes are adjusted first, so that the Y axes are adjusted to the plots
+     * within the adjusted X ranges.
+     * 
+     * @return true if any axis range is changed
+     */
+    public boolean adjustAutoRanges() {
+        boolean changed = false;
+        for (IAxis axis : getXAxes()) {
+            if (axis.isAutoAdjustRangeEnabled()) {
+                changed |= ((Axis) axis).adjustRangeToXRange(false);
+            }
+        }
+        for (IAxis axis : getYAxes()) {
+            if (axis.isAutoAdjustRangeEnabled()) {
+                changed |= ((Axis) axis).adjustRangeToXRange(false);
+            }
+        }
+        return changed;
+    }
+
     /*
      * @see IAxisSet#zoomIn()
      */
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.axis;
+
+/**
+ * A transform from data coordinates to pixel coordinates on plot area.
+ * <p>
+ * The transform is an affine map <tt>(value - origin) * scale</tt>, where the
+ * value is the data coordinate or its logarithm on log scale axis. The origin
+ * and scale are computed once from the axis range, the plot area size, the
+ * orientation, log scale and category mode, so that no branch or logarithm of
+ * the range is needed for each data coordinate.
+ */
+public class CoordinateTransform {
+
+    /** the state indicating if the axis is log scale */
+    private final boolean logScale;
+
+    /** the value mapped to the pixel coordinate 0 */
+    private final double origin;
+
+    /** the number of pixels per unit of value */
+    private final double scale;
+
+    /**
+     * Constructor.
+     * 
+     * @param lower
+     *            the min value of range
+     * @param upper
+     *            the max value of range
+     * @param length
+     *            the plot area length in pixels along the axis
+     * @param horizontal
+     *            true if the axis is horizontal
+     * @param logScale
+     *            true if the axis is log scale
+     * @param category
+     *            true if the axis is category axis
+     */
+    public CoordinateTransform(double lower, double upper, int length,
+            boolean horizontal, boolean logScale, boolean category) {
+        this.logScale = logScale;
+
+        if (logScale) {
+            lower = Math.log10(lower);
+            upper = Math.log10(upper);
+        } else if (category) {
+            lower -= 0.5;
+            upper += 0.5;
+        }
+
+        if (horizontal) {
+            origin = lower;
+            scale = length / (upper - lower);
+        } else {
+            origin = upper;
+            scale = -length / (upper - lower);
+        }
+    }
+
+    /**
+     * Gets the pixel coordinate corresponding to the given data coordinate.
+     * 
+     * @param dataCoordinate
+     *            the data coordinate
+     * @return the pixel coordinate on plot area
+     */
+    public int getPixelCoordinate(double dataCoordinate) {
+        if (logScale) {
+            return (int) ((Math.log10(dataCoordinate) - origin) * scale);
+        }
+        return (int) ((dataCoordinate - origin) * scale);
+    }
+
+    /**
+     * Gets the pixel coordinates corresponding to the given data coordinates.
+     * 
+     * @param dataCoordinates
+     *            the data coordinates
+     * @param pixelCoordinates
+     *            the array to store the pixel coordinates on plot area
+     * @param length
+     *            the number of coordinates to be transformed
+     */
+    public void getPixelCoordinates(double[] dataCoordinates,
+            int[] pixelCoordinates, int length) {
+        if (logScale) {
+            for (int i = 0; i < length; i++) {
+                double value = Math.log10(dataCoordinates[i]);
+                pixelCoordinates[i] = (int) ((value - origin) * scale);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                pixelCoordinates[i] = (int) ((dataCoordinates[i] - origin) * scale);
+            }
+        }
+    }
+
+    /*
+     * @see Object#equals(Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof CoordinateTransform)) {
+            return false;
+        }
+        CoordinateTransform transform = (CoordinateTransform) obj;
+        return logScale == transform.logScale
+                && Double.compare(origin, transform.origin) == 0
+                && Double.compare(scale, transform.scale) == 0;
+    }
+
+    /*
+     * @see Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(origin) * 31
+                + Double.doubleToLongBits(scale);
+        return (int) (bits ^ (bits >>> 32)) + (logScale ? 1 : 0);
+    }
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+/**
+ * A series buffer holding the values in an array of double.
+ */
+public class ArraySeriesBuffer extends SeriesBuffer {
+
+    /**
+     * Constructor.
+     *
+     * @param values
+     *            the values, which are not copied
+     */
+    public ArraySeriesBuffer(double[] values) {
+        array = values;
+        offset = 0;
+        size = values.length;
+    }
+
+    /*
+     * @see SeriesBuffer#read(int)
+     */
+    @Override
+    protected double read(int index) {
+        return array[offset + index];
+    }
+}
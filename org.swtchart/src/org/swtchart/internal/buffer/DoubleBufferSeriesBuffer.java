@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * A series buffer bound to the remaining values of <tt>DoubleBuffer</tt>
+ * owned by the caller. The values are not copied.
+ * <p>
+ * If the buffer is backed by an accessible array, the array is read directly.
+ * Otherwise (e.g. direct or read-only buffer), the values are read with the
+ * absolute get method of buffer.
+ */
+public class DoubleBufferSeriesBuffer extends SeriesBuffer {
+
+    /** the bound buffer */
+    private final DoubleBuffer buffer;
+
+    /** the position of the first value in buffer */
+    private int position;
+
+    /**
+     * Constructor.
+     *
+     * @param buffer
+     *            the buffer, whose remaining values are the series
+     */
+    public DoubleBufferSeriesBuffer(DoubleBuffer buffer) {
+        this.buffer = buffer;
+        bind();
+    }
+
+    /**
+     * Binds to the current position and limit of buffer.
+     */
+    private void bind() {
+        position = buffer.position();
+        size = buffer.remaining();
+        if (buffer.hasArray()) {
+            array = buffer.array();
+            offset = buffer.arrayOffset() + position;
+        } else {
+            array = null;
+            offset = 0;
+        }
+    }
+
+    /*
+     * @see SeriesBuffer#read(int)
+     */
+    @Override
+    protected double read(int index) {
+        return buffer.get(position + index);
+    }
+
+    /*
+     * @see SeriesBuffer#toArray(int, int)
+     */
+    @Override
+    public double[] toArray(int start, int length) {
+        if (array != null) {
+            return super.toArray(start, length);
+        }
+
+        // read in bulk without changing the position of the given buffer
+        double[] values = new double[length];
+        DoubleBuffer view = buffer.duplicate();
+        view.position(position + start);
+        view.get(values, 0, length);
+        return values;
+    }
+
+    /**
+     * Notifies that the values in buffer are modified. The position and limit
+     * of buffer are read again, so that the series can grow or shrink.
+     */
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        bind();
+    }
+}
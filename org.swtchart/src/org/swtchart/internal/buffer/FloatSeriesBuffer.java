@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+/**
+ * A series buffer holding the values in an array of float, which takes half
+ * the memory of double. The values are widened to double when being read.
+ */
+public class FloatSeriesBuffer extends SeriesBuffer {
+
+    /** the values */
+    private final float[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param values
+     *            the values to be narrowed to float
+     */
+    public FloatSeriesBuffer(double[] values) {
+        this.values = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            this.values[i] = (float) values[i];
+        }
+        size = values.length;
+    }
+
+    /*
+     * @see SeriesBuffer#read(int)
+     */
+    @Override
+    protected double read(int index) {
+        return values[index];
+    }
+}
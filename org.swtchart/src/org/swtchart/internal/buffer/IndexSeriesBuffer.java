@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+/**
+ * A series buffer whose values are their own indexes, which is used as X
+ * series when only Y series is given without being held in heap.
+ */
+public class IndexSeriesBuffer extends SeriesBuffer {
+
+    /**
+     * Constructor.
+     *
+     * @param size
+     *            the number of values
+     */
+    public IndexSeriesBuffer(int size) {
+        this.size = size;
+    }
+
+    /*
+     * @see SeriesBuffer#read(int)
+     */
+    @Override
+    protected double read(int index) {
+        return index;
+    }
+
+    /*
+     * @see SeriesBuffer#getMin()
+     */
+    @Override
+    public double getMin() {
+        return size == 0 ? Double.NaN : 0;
+    }
+
+    /*
+     * @see SeriesBuffer#getMax()
+     */
+    @Override
+    public double getMax() {
+        return size == 0 ? Double.NaN : size - 1;
+    }
+
+    /*
+     * @see SeriesBuffer#isMonotoneIncreasing()
+     */
+    @Override
+    public boolean isMonotoneIncreasing() {
+        return true;
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import org.swtchart.ISeries.FileFormat;
+
+/**
+ * A series buffer reading the values from a file mapped into memory.
+ * <p>
+ * The file is a flat sequence of little-endian values without header. Since
+ * a mapped buffer cannot exceed 2GB, the file is mapped as the regions of
+ * fixed number of values, so that files of several GB can be read. The
+ * values are read from the mapped regions on demand, and are not copied to
+ * heap.
+ */
+public class MappedSeriesBuffer extends SeriesBuffer {
+
+    /** the bit shift to get the region from an index */
+    private static final int REGION_SHIFT = 27;
+
+    /** the number of values in a region */
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+    /** the mask to get the position in region from an index */
+    private static final int REGION_MASK = REGION_SIZE - 1;
+
+    /** the mapped regions */
+    private final MappedByteBuffer[] regions;
+
+    /** the state indicating if the values are single precision */
+    private final boolean isFloat;
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *            the file to be mapped
+     * @param format
+     *            the format of values in file
+     * @throws IOException
+     *             if the file cannot be mapped
+     */
+    public MappedSeriesBuffer(File file, FileFormat format) throws IOException {
+        isFloat = (format == FileFormat.FLOAT);
+        int valueSize = isFloat ? 4 : 8;
+
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            long length = channel.size() / valueSize;
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(
+                        "File contains too many values.");
+            }
+            size = (int) length;
+            offset = 0;
+
+            int count = (int) ((length + REGION_SIZE - 1) >> REGION_SHIFT);
+            regions = new MappedByteBuffer[count];
+            for (int i = 0; i < regions.length; i++) {
+                long start = (long) i << REGION_SHIFT;
+                long values = Math.min(REGION_SIZE, length - start);
+                regions[i] = channel.map(MapMode.READ_ONLY, start * valueSize,
+                        values * valueSize);
+                regions[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } finally {
+            // the mapped regions stay valid after closing the file
+            randomAccessFile.close();
+        }
+    }
+
+    /*
+     * @see SeriesBuffer#read(int)
+     */
+    @Override
+    protected double read(int index) {
+        MappedByteBuffer region = regions[index >>> REGION_SHIFT];
+        int position = index & REGION_MASK;
+        if (isFloat) {
+            return region.getFloat(position << 2);
+        }
+        return region.getDouble(position << 3);
+    }
+}
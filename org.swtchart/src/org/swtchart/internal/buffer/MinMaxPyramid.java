@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+/**
+ * A multi-resolution index of the minimum and maximum values in a series.
+ * <p>
+ * The series is divided into buckets of fixed size at each level, and the
+ * bucket size doubles from a level to the next coarser level. Each bucket
+ * stores the indexes of minimum and maximum values in the bucket, while the
+ * first and last plots of a bucket are given by its position. The minimum and
+ * maximum values in an arbitrary index range are found by reading the coarsest
+ * buckets fitting in the range, so that the cost is proportional to the
+ * logarithm of the range length rather than to the length itself.
+ * <p>
+ * The buckets are aligned to the number of values appended since the index
+ * was built rather than to the current first value, so that the index is
+ * updated incrementally when values are appended to a ring buffer and the
+ * oldest values are discarded. Only the buckets completed by the appended
+ * values are added, and the buckets holding discarded values are removed.
+ * <p>
+ * NaN values are ignored unless all values in the range are NaN.
+ */
+public class MinMaxPyramid {
+
+    /** the number of plots in a bucket at the finest level */
+    private static final int BASE_BUCKET_SIZE = 8;
+
+    /** the indexed series */
+    private final SeriesBuffer series;
+
+    /** the number of discarded values preceding the first value of series */
+    private long base;
+
+    /** the levels from the finest to the coarsest */
+    private Level[] levels;
+
+    /**
+     * Constructor.
+     * 
+     * @param series
+     *            the series to be indexed, which must not be modified as long
+     *            as this index is used except by appending values
+     */
+    public MinMaxPyramid(SeriesBuffer series) {
+        this.series = series;
+        levels = new Level[0];
+        update();
+    }
+
+    /**
+     * Notifies that values are appended to the series, and that the given
+     * number of the oldest values are discarded.
+     * 
+     * @param discarded
+     *            the number of discarded values
+     */
+    public void seriesAppended(int discarded) {
+        base += discarded;
+        update();
+    }
+
+    /**
+     * Removes the buckets holding discarded values, and adds the buckets
+     * completed by appended values.
+     */
+    private void update() {
+        int count = 0;
+        for (long size = BASE_BUCKET_SIZE; size <= series.size(); size <<= 1) {
+            count++;
+        }
+        if (count > levels.length) {
+            Level[] newLevels = new Level[count];
+            System.arraycopy(levels, 0, newLevels, 0, levels.length);
+            for (int i = levels.length; i < count; i++) {
+                newLevels[i] = new Level((long) BASE_BUCKET_SIZE << i);
+            }
+            levels = newLevels;
+        }
+
+        long end = base + series.size();
+        for (int i = 0; i < levels.length; i++) {
+            Level level = levels[i];
+            level.removeBefore(base);
+            for (long bucket = level.getNextBucket(); (bucket + 1)
+                    * level.bucketSize <= end; bucket++) {
+                if (i == 0) {
+                    addFinestBucket(level, bucket);
+                } else {
+                    addCoarserBucket(level, levels[i - 1], bucket);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the given bucket at the finest level from the series.
+     * 
+     * @param level
+     *            the finest level
+     * @param bucket
+     *            the bucket number
+     */
+    private void addFinestBucket(Level level, long bucket) {
+        int min = -1;
+        int max = -1;
+        int start = (int) (bucket * BASE_BUCKET_SIZE - base);
+        for (int j = start; j < start + BASE_BUCKET_SIZE; j++) {
+            min = getMinIndex(min, j);
+            max = getMaxIndex(max, j);
+        }
+        level.add(min + base, max + base);
+    }
+
+    /**
+     * Adds the given bucket at a coarser level from the pair of buckets at the
+     * finer level.
+     * 
+     * @param level
+     *            the coarser level
+     * @param finerLevel
+     *            the finer level
+     * @param bucket
+     *            the bucket number
+     */
+    private void addCoarserBucket(Level level, Level finerLevel, long bucket) {
+        int min = getMinIndex(finerLevel.getMin(bucket * 2),
+                finerLevel.getMin(bucket * 2 + 1));
+        int max = getMaxIndex(finerLevel.getMax(bucket * 2),
+                finerLevel.getMax(bucket * 2 + 1));
+        level.add(min + base, max + base);
+    }
+
+    /**
+     * Gets the indexes of minimum and maximum values in the given index range.
+     * If there are multiple plots with the same value, the one with the
+     * smallest index is given.
+     * 
+     * @param start
+     *            the start index
+     * @param end
+     *            the end index (exclusive), which has to be greater than the
+     *            start index
+     * @param result
+     *            the array to store the index of minimum value at 0 and the
+     *            index of maximum value at 1
+     */
+    public void getMinMaxIndexes(int start, int end, int[] result) {
+        int min = -1;
+        int max = -1;
+
+        long index = start + base;
+        long endIndex = end + base;
+        while (index < endIndex) {
+
+            // find the coarsest bucket starting at the index in the range
+            int level = -1;
+            long size = BASE_BUCKET_SIZE;
+            while (level + 1 < levels.length && index % size == 0
+                    && index + size <= endIndex) {
+                level++;
+                size <<= 1;
+            }
+
+            if (level == -1) {
+                int i = (int) (index - base);
+                min = getMinIndex(min, i);
+                max = getMaxIndex(max, i);
+                index++;
+            } else {
+                long bucket = index / (size >> 1);
+                min = getMinIndex(min, levels[level].getMin(bucket));
+                max = getMaxIndex(max, levels[level].getMax(bucket));
+                index += size >> 1;
+            }
+        }
+
+        result[0] = min;
+        result[1] = max;
+    }
+
+    /**
+     * Gets the index of smaller value. The given current index is kept if the
+     * values are the same.
+     * 
+     * @param current
+     *            the current index, or -1 if no index is given yet
+     * @param candidate
+     *            the candidate index following the current index
+     * @return the index of smaller value
+     */
+    private int getMinIndex(int current, int candidate) {
+        if (current == -1 || series.get(candidate) < series.get(current)
+                || Double.isNaN(series.get(current))) {
+            return candidate;
+        }
+        return current;
+    }
+
+    /**
+     * Gets the index of larger value. The given current index is kept if the
+     * values are the same.
+     * 
+     * @param current
+     *            the current index, or -1 if no index is given yet
+     * @param candidate
+     *            the candidate index following the current index
+     * @return the index of larger value
+     */
+    private int getMaxIndex(int current, int candidate) {
+        if (current == -1 || series.get(candidate) > series.get(current)
+                || Double.isNaN(series.get(current))) {
+            return candidate;
+        }
+        return current;
+    }
+
+    /**
+     * A level of buckets of the same size, holding the consecutive buckets
+     * which don't contain discarded values.
+     */
+    private class Level {
+
+        /** the number of values in a bucket */
+        final long bucketSize;
+
+        /** the offsets of minimum values from the start of buckets */
+        private int[] minOffsets;
+
+        /** the offsets of maximum values from the start of buckets */
+        private int[] maxOffsets;
+
+        /** the position of the first bucket in arrays */
+        private int head;
+
+        /** the number of buckets */
+        private int count;
+
+        /** the number of the first bucket */
+        private long first;
+
+        /**
+         * Constructor.
+         * 
+         * @param bucketSize
+         *            the number of values in a bucket
+         */
+        Level(long bucketSize) {
+            this.bucketSize = bucketSize;
+            minOffsets = new int[0];
+            maxOffsets = new int[0];
+        }
+
+        /**
+         * Removes the buckets starting before the given index.
+         * 
+         * @param index
+         *            the index counted from the first value ever
+         */
+        void removeBefore(long index) {
+            long firstValid = (index + bucketSize - 1) / bucketSize;
+            long removed = Math.min(Math.max(firstValid - first, 0), count);
+            head += removed;
+            count -= removed;
+            if (count == 0) {
+                head = 0;
+                first = firstValid;
+            } else {
+                first += removed;
+            }
+        }
+
+        /**
+         * Gets the number of the bucket to be added next.
+         * 
+         * @return the bucket number
+         */
+        long getNextBucket() {
+            return first + count;
+        }
+
+        /**
+         * Adds the bucket next to the last bucket.
+         * 
+         * @param min
+         *            the index of minimum value counted from the first value
+         *            ever
+         * @param max
+         *            the index of maximum value counted from the first value
+         *            ever
+         */
+        void add(long min, long max) {
+            if (head + count == minOffsets.length) {
+                if (head > count) {
+                    // reuse the space of removed buckets
+                    System.arraycopy(minOffsets, head, minOffsets, 0, count);
+                    System.arraycopy(maxOffsets, head, maxOffsets, 0, count);
+                } else {
+                    int length = Math.max(count * 2, 16);
+                    int[] newMinOffsets = new int[length];
+                    int[] newMaxOffsets = new int[length];
+                    System.arraycopy(minOffsets, head, newMinOffsets, 0,
+                            count);
+                    System.arraycopy(maxOffsets, head, newMaxOffsets, 0,
+                            count);
+                    minOffsets = newMinOffsets;
+                    maxOffsets = newMaxOffsets;
+                }
+                head = 0;
+            }
+            long start = (first + count) * bucketSize;
+            minOffsets[head + count] = (int) (min - start);
+            maxOffsets[head + count] = (int) (max - start);
+            count++;
+        }
+
+        /**
+         * Gets the index of minimum value in the given bucket.
+         * 
+         * @param bucket
+         *            the bucket number
+         * @return the index in series
+         */
+        int getMin(long bucket) {
+            return (int) (bucket * bucketSize
+                    + minOffsets[head + (int) (bucket - first)] - base);
+        }
+
+        /**
+         * Gets the index of maximum value in the given bucket.
+         * 
+         * @param bucket
+         *            the bucket number
+         * @return the index in series
+         */
+        int getMax(long bucket) {
+            return (int) (bucket * bucketSize
+                    + maxOffsets[head + (int) (bucket - first)] - base);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+/**
+ * A series buffer to which values are appended, discarding the oldest values
+ * when the number of values exceeds the capacity.
+ * <p>
+ * Once the buffer is full, the values are stored twice in an array of double
+ * the capacity, so that the values are always in a contiguous region starting
+ * at the oldest value. Appending a value then writes two elements regardless
+ * of the capacity, and no value is moved. The minimum and maximum values are
+ * kept up to date with a monotone queue of candidates, so that they are also
+ * found in constant amortized time per appended value.
+ * <p>
+ * NaN values are ignored for the minimum and maximum values.
+ */
+public class RingSeriesBuffer extends SeriesBuffer {
+
+    /** the initial length of array */
+    private static final int INITIAL_LENGTH = 16;
+
+    /** the capacity, or 0 if the capacity is unlimited */
+    private final int capacity;
+
+    /** the ring positions of the candidates for minimum value */
+    private final IndexQueue minQueue;
+
+    /** the ring positions of the candidates for maximum value */
+    private final IndexQueue maxQueue;
+
+    /** the minimum value for unlimited capacity */
+    private double min;
+
+    /** the maximum value for unlimited capacity */
+    private double max;
+
+    /** the number of values less than their previous values */
+    private int descents;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            the maximum number of values, or 0 for unlimited capacity
+     */
+    public RingSeriesBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "Capacity cannot be negative value.");
+        }
+
+        this.capacity = capacity;
+        array = new double[capacity == 0 ? INITIAL_LENGTH : Math.min(
+                INITIAL_LENGTH, capacity)];
+        offset = 0;
+        size = 0;
+        min = Double.NaN;
+        max = Double.NaN;
+        if (capacity == 0) {
+            minQueue = null;
+            maxQueue = null;
+        } else {
+            minQueue = new IndexQueue();
+            maxQueue = new IndexQueue();
+        }
+    }
+
+    /**
+     * Gets the capacity.
+     *
+     * @return the maximum number of values, or 0 for unlimited capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Appends the given number of values from the given position of array.
+     *
+     * @param values
+     *            the values to be appended
+     * @param start
+     *            the position of the first value to be appended
+     * @param length
+     *            the number of values to be appended
+     * @return the number of the oldest values discarded
+     */
+    public int append(double[] values, int start, int length) {
+        clearLookups();
+
+        int discarded = 0;
+        for (int i = start; i < start + length; i++) {
+            if (capacity == 0 || size < capacity) {
+                add(values[i]);
+            } else {
+                replaceOldest(values[i]);
+                discarded++;
+            }
+        }
+        if (pyramid != null) {
+            pyramid.seriesAppended(discarded);
+        }
+        return discarded;
+    }
+
+    /**
+     * Adds the value while the buffer is not full.
+     *
+     * @param value
+     *            the value
+     */
+    private void add(double value) {
+        if (size == array.length) {
+            long length = Math.max(array.length * 2L, INITIAL_LENGTH);
+            if (capacity != 0) {
+                length = Math.min(length, capacity);
+            }
+            double[] newArray = new double[(int) Math.min(length,
+                    Integer.MAX_VALUE - 8)];
+            System.arraycopy(array, 0, newArray, 0, size);
+            array = newArray;
+        }
+
+        if (size > 0 && array[size - 1] > value) {
+            descents++;
+        }
+        array[size] = value;
+        if (capacity == 0) {
+            if (!Double.isNaN(value)) {
+                if (Double.isNaN(min) || value < min) {
+                    min = value;
+                }
+                if (Double.isNaN(max) || value > max) {
+                    max = value;
+                }
+            }
+        } else {
+            enqueue(size, value);
+        }
+        size++;
+    }
+
+    /**
+     * Replaces the oldest value with the given value when the buffer is full.
+     *
+     * @param value
+     *            the value
+     */
+    private void replaceOldest(double value) {
+        if (array.length < capacity * 2) {
+            // store the values twice from now on
+            double[] newArray = new double[capacity * 2];
+            System.arraycopy(array, 0, newArray, 0, capacity);
+            System.arraycopy(array, 0, newArray, capacity, capacity);
+            array = newArray;
+        }
+
+        int position = offset;
+        if (capacity > 1) {
+            if (array[position + 1] < array[position]) {
+                descents--;
+            }
+            if (array[position + capacity - 1] > value) {
+                descents++;
+            }
+        }
+
+        if (!minQueue.isEmpty() && minQueue.getFirst() == position) {
+            minQueue.removeFirst();
+        }
+        if (!maxQueue.isEmpty() && maxQueue.getFirst() == position) {
+            maxQueue.removeFirst();
+        }
+
+        array[position] = value;
+        array[position + capacity] = value;
+        enqueue(position, value);
+
+        offset = (position + 1 == capacity) ? 0 : position + 1;
+    }
+
+    /**
+     * Adds the value at the given ring position to the queues of candidates
+     * for minimum and maximum values, removing the candidates which can no
+     * longer be the minimum or maximum value.
+     *
+     * @param position
+     *            the ring position
+     * @param value
+     *            the value
+     */
+    private void enqueue(int position, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        while (!minQueue.isEmpty() && array[minQueue.getLast()] >= value) {
+            minQueue.removeLast();
+        }
+        minQueue.addLast(position);
+
+        while (!maxQueue.isEmpty() && array[maxQueue.getLast()] <= value) {
+            maxQueue.removeLast();
+        }
+        maxQueue.addLast(position);
+    }
+
+    /*
+     * @see SeriesBuffer#read(int)
+     */
+    @Override
+    protected double read(int index) {
+        return array[offset + index];
+    }
+
+    /*
+     * @see SeriesBuffer#getMin()
+     */
+    @Override
+    public double getMin() {
+        if (capacity == 0) {
+            return min;
+        }
+        return minQueue.isEmpty() ? Double.NaN : array[minQueue.getFirst()];
+    }
+
+    /*
+     * @see SeriesBuffer#getMax()
+     */
+    @Override
+    public double getMax() {
+        if (capacity == 0) {
+            return max;
+        }
+        return maxQueue.isEmpty() ? Double.NaN : array[maxQueue.getFirst()];
+    }
+
+    /*
+     * @see SeriesBuffer#isMonotoneIncreasing()
+     */
+    @Override
+    public boolean isMonotoneIncreasing() {
+        return descents == 0;
+    }
+
+    /**
+     * A double-ended queue of int values.
+     */
+    private static class IndexQueue {
+
+        /** the elements */
+        private int[] elements = new int[INITIAL_LENGTH];
+
+        /** the position of the first element */
+        private int head;
+
+        /** the number of elements */
+        private int size;
+
+        /**
+         * Gets the state indicating if the queue is empty.
+         *
+         * @return true if the queue is empty
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Gets the first element.
+         *
+         * @return the first element
+         */
+        int getFirst() {
+            return elements[head];
+        }
+
+        /**
+         * Gets the last element.
+         *
+         * @return the last element
+         */
+        int getLast() {
+            return elements[(head + size - 1) & (elements.length - 1)];
+        }
+
+        /**
+         * Removes the first element.
+         */
+        void removeFirst() {
+            head = (head + 1) & (elements.length - 1);
+            size--;
+        }
+
+        /**
+         * Removes the last element.
+         */
+        void removeLast() {
+            size--;
+        }
+
+        /**
+         * Adds the element at the end.
+         *
+         * @param element
+         *            the element
+         */
+        void addLast(int element) {
+            if (size == elements.length) {
+                int[] newElements = new int[elements.length * 2];
+                for (int i = 0; i < size; i++) {
+                    newElements[i] = elements[(head + i)
+                            & (elements.length - 1)];
+                }
+                elements = newElements;
+                head = 0;
+            }
+            elements[(head + size) & (elements.length - 1)] = element;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+/**
+ * A read-only view of the values in a series, which is shared by the series
+ * and its compressor without being copied.
+ * <p>
+ * When the values are held in a contiguous region of an array of double,
+ * <tt>get(int)</tt> reads the array directly without calling
+ * <tt>read(int)</tt>. Otherwise, the values are read with <tt>read(int)</tt>
+ * which is implemented by subclasses for their storage. The
+ * minimum and maximum values are found by scanning the values when they are
+ * requested for the first time, unless subclasses keep them up to date.
+ * <p>
+ * The latest results of binary search are kept, so that the series sharing
+ * the same X series find the plots in X range only once for each paint.
+ */
+public abstract class SeriesBuffer {
+
+    /** the array holding the values, or <tt>null</tt> if not held in array */
+    protected double[] array;
+
+    /** the position of the first value in array */
+    protected int offset;
+
+    /** the number of values */
+    protected int size;
+
+    /** the minimum value */
+    private double min;
+
+    /** the maximum value */
+    private double max;
+
+    /** the state indicating if the values are monotone increasing */
+    private boolean isMonotoneIncreasing;
+
+    /** the state indicating if the minimum and maximum values are found */
+    private boolean scanned;
+
+    /** the latest result of searching the first value not less than a value */
+    private volatile Lookup notLessThanLookup;
+
+    /** the latest result of searching the first value greater than a value */
+    private volatile Lookup greaterThanLookup;
+
+    /** the min/max index, or <tt>null</tt> if not built yet */
+    protected MinMaxPyramid pyramid;
+
+    /**
+     * Gets the value at the given index.
+     *
+     * @param index
+     *            the index
+     * @return the value
+     */
+    public final double get(int index) {
+        if (array != null) {
+            return array[offset + index];
+        }
+        return read(index);
+    }
+
+    /**
+     * Reads the value at the given index from the storage of subclass.
+     *
+     * @param index
+     *            the index
+     * @return the value
+     */
+    protected abstract double read(int index);
+
+    /**
+     * Gets the state indicating if the values are held in an array on heap.
+     *
+     * @return true if the values are held in an array
+     */
+    public final boolean hasArray() {
+        return array != null;
+    }
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the number of values
+     */
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Gets the copy of values.
+     *
+     * @return the values
+     */
+    public double[] toArray() {
+        return toArray(0, size);
+    }
+
+    /**
+     * Gets the copy of the given number of values from the given index.
+     *
+     * @param start
+     *            the index of the first value to be copied
+     * @param length
+     *            the number of values to be copied
+     * @return the values
+     */
+    public double[] toArray(int start, int length) {
+        double[] values = new double[length];
+        if (array != null) {
+            System.arraycopy(array, offset + start, values, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                values[i] = read(start + i);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Gets the minimum value.
+     *
+     * @return the minimum value
+     */
+    public double getMin() {
+        scan();
+        return min;
+    }
+
+    /**
+     * Gets the maximum value.
+     *
+     * @return the maximum value
+     */
+    public double getMax() {
+        scan();
+        return max;
+    }
+
+    /**
+     * Gets the state indicating if the values are monotone increasing.
+     *
+     * @return true if the values are monotone increasing
+     */
+    public boolean isMonotoneIncreasing() {
+        scan();
+        return isMonotoneIncreasing;
+    }
+
+    /**
+     * Notifies that the values in storage are modified, so that the minimum
+     * and maximum values are found again.
+     */
+    public void invalidate() {
+        scanned = false;
+        pyramid = null;
+        clearLookups();
+    }
+
+    /**
+     * Gets the index to find the minimum and maximum values in an index range.
+     * The index is built when it is requested for the first time, and is
+     * shared by the series and its compressor.
+     *
+     * @return the min/max index
+     */
+    public MinMaxPyramid getMinMaxPyramid() {
+        if (pyramid == null) {
+            pyramid = new MinMaxPyramid(this);
+        }
+        return pyramid;
+    }
+
+    /**
+     * Gets the state indicating if the min/max index is already built.
+     *
+     * @return true if the min/max index is built
+     */
+    public final boolean hasMinMaxPyramid() {
+        return pyramid != null;
+    }
+
+    /**
+     * Clears the latest results of binary search. This has to be called by
+     * subclasses when the values are modified.
+     */
+    protected final void clearLookups() {
+        notLessThanLookup = null;
+        greaterThanLookup = null;
+    }
+
+    /**
+     * Gets the index of the first value not less than the given value, by
+     * binary search on the monotone increasing values.
+     *
+     * @param value
+     *            the value
+     * @return the index, or the number of values if there is no such value
+     */
+    public int getFirstIndexNotLessThan(double value) {
+        Lookup lookup = notLessThanLookup;
+        if (lookup != null && lookup.value == value) {
+            return lookup.index;
+        }
+
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (get(middle) < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        notLessThanLookup = new Lookup(value, low);
+        return low;
+    }
+
+    /**
+     * Gets the index of the first value greater than the given value, by
+     * binary search on the monotone increasing values.
+     *
+     * @param value
+     *            the value
+     * @return the index, or the number of values if there is no such value
+     */
+    public int getFirstIndexGreaterThan(double value) {
+        Lookup lookup = greaterThanLookup;
+        if (lookup != null && lookup.value == value) {
+            return lookup.index;
+        }
+
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (get(middle) <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        greaterThanLookup = new Lookup(value, low);
+        return low;
+    }
+
+    /**
+     * Finds the minimum and maximum values, and checks if the values are
+     * monotone increasing, if not found since the values are modified.
+     */
+    private void scan() {
+        if (scanned) {
+            return;
+        }
+        scanned = true;
+
+        isMonotoneIncreasing = true;
+        if (size == 0) {
+            min = Double.NaN;
+            max = Double.NaN;
+            return;
+        }
+
+        min = get(0);
+        max = min;
+        double previous = min;
+        for (int i = 1; i < size; i++) {
+            double value = get(i);
+            if (min > value) {
+                min = value;
+            }
+            if (max < value) {
+                max = value;
+            }
+            if (previous > value) {
+                isMonotoneIncreasing = false;
+            }
+            previous = value;
+        }
+    }
+
+    /**
+     * A result of binary search, which is immutable so that it can be shared
+     * by the compressors running in parallel.
+     */
+    private static class Lookup {
+
+        /** the searched value */
+        final double value;
+
+        /** the found index */
+        final int index;
+
+        /**
+         * Constructor.
+         *
+         * @param value
+         *            the searched value
+         * @param index
+         *            the found index
+         */
+        Lookup(double value, int index) {
+            this.value = value;
+            this.index = index;
+        }
+    }
+}
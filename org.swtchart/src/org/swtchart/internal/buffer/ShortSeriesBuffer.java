@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.buffer;
+
+/**
+ * A series buffer holding the values quantized into an array of short, which
+ * takes a quarter of the memory of double.
+ * <p>
+ * A value is stored as <tt>round((value - offset) / scale)</tt>, and is read
+ * as <tt>stored * scale + offset</tt>. The values out of the range of short
+ * are clamped, and NaN is stored as <tt>Short.MIN_VALUE</tt>.
+ */
+public class ShortSeriesBuffer extends SeriesBuffer {
+
+    /** the stored value representing NaN */
+    private static final short NAN = Short.MIN_VALUE;
+
+    /** the quantized values */
+    private final short[] values;
+
+    /** the scale of quantized values */
+    private final double scale;
+
+    /** the value represented by zero */
+    private final double zero;
+
+    /**
+     * Constructor.
+     *
+     * @param values
+     *            the values to be quantized
+     * @param scale
+     *            the difference of values between adjacent quantized values
+     * @param offset
+     *            the value represented by zero
+     */
+    public ShortSeriesBuffer(double[] values, double scale, double offset) {
+        this.scale = scale;
+        zero = offset;
+        this.values = new short[values.length];
+        for (int i = 0; i < values.length; i++) {
+            this.values[i] = quantize(values[i]);
+        }
+        size = values.length;
+    }
+
+    /**
+     * Quantizes the given value.
+     *
+     * @param value
+     *            the value
+     * @return the quantized value
+     */
+    private short quantize(double value) {
+        if (Double.isNaN(value)) {
+            return NAN;
+        }
+        double quantized = Math.rint((value - zero) / scale);
+        if (quantized < Short.MIN_VALUE + 1) {
+            return Short.MIN_VALUE + 1;
+        }
+        if (quantized > Short.MAX_VALUE) {
+            return Short.MAX_VALUE;
+        }
+        return (short) quantized;
+    }
+
+    /*
+     * @see SeriesBuffer#read(int)
+     */
+    @Override
+    protected double read(int index) {
+        short value = values[index];
+        if (value == NAN) {
+            return Double.NaN;
+        }
+        return value * scale + zero;
+    }
+}
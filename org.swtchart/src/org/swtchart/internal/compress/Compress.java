@@ -6,13 +6,19 @@
  *******************************************************************************/
 package org.swtchart.internal.compress;
 
-import java.util.ArrayList;
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.compress.ICompress;
+import org.swtchart.internal.buffer.ArraySeriesBuffer;
+import org.swtchart.internal.buffer.SeriesBuffer;
 
 /**
  * A base class for compressor providing default implementations.
  */
 public abstract class Compress implements ICompress {
 
+    /** the initial capacity of the buffers for compressed series */
+    private static final int INITIAL_CAPACITY = 1024;
+
     /** the previous X grid index */
     protected int previousXGridIndex;
 
@@ -29,20 +35,32 @@ public abstract class Compress implements ICompress {
     protected boolean compressed;
 
     /** the source X series to be compressed */
-    protected double[] xSeries = null;
+    protected SeriesBuffer xSeries = null;
 
     /** the source Y series to be compressed */
-    protected double[] ySeries = null;
+    protected SeriesBuffer ySeries = null;
 
-    /** the compressed X series */
+    /** the buffer for compressed X series */
     protected transient double[] compressedXSeries = null;
 
-    /** the compressed Y series */
+    /** the buffer for compressed Y series */
     protected transient double[] compressedYSeries = null;
 
-    /** the compressed series indexes */
+    /** the buffer for compressed series indexes */
     protected transient int[] compressedIndexes = null;
 
+    /** the number of plots stored in the buffers for compressed series */
+    protected transient int compressedSize;
+
+    /** the state indicating if the uncompressed series is clipped */
+    private boolean clipped;
+
+    /** the start index of the clipped series */
+    private int clipStart;
+
+    /** the end index (exclusive) of the clipped series */
+    private int clipEnd;
+
     /** the lower value of x range */
     protected double xLower;
 
@@ -78,14 +96,20 @@ public abstract class Compress implements ICompress {
         double[] copiedSeries = new double[xSeries.length];
         System.arraycopy(xSeries, 0, copiedSeries, 0, xSeries.length);
 
-        this.xSeries = copiedSeries;
-        compressedXSeries = copiedSeries;
-        compressedIndexes = new int[xSeries.length];
-        for (int i = 0; i < xSeries.length; i++) {
-            compressedIndexes[i] = i;
-        }
+        setXSeries(new ArraySeriesBuffer(copiedSeries));
+    }
+
+    /**
+     * Sets the X series without copying it.
+     * 
+     * @param xSeries
+     *            the X series, which is shared with the series
+     */
+    public void setXSeries(SeriesBuffer xSeries) {
+        this.xSeries = xSeries;
 
         compressed = false;
+        clipped = false;
     }
 
     /*
@@ -99,45 +123,118 @@ public abstract class Compress implements ICompress {
         double[] copiedSeries = new double[ySeries.length];
         System.arraycopy(ySeries, 0, copiedSeries, 0, ySeries.length);
 
-        this.ySeries = copiedSeries;
-        compressedYSeries = copiedSeries;
+        setYSeries(new ArraySeriesBuffer(copiedSeries));
+    }
+
+    /**
+     * Sets the Y series without copying it.
+     * 
+     * @param ySeries
+     *            the Y series, which is shared with the series
+     */
+    public void setYSeries(SeriesBuffer ySeries) {
+        this.ySeries = ySeries;
 
         compressed = false;
+        clipped = false;
     }
 
     /*
      * @see ICompress#getCompressedXSeries()
      */
     public double[] getCompressedXSeries() {
-        double[] copiedSeries = new double[compressedXSeries.length];
-        System.arraycopy(compressedXSeries, 0, copiedSeries, 0,
-                compressedXSeries.length);
-
-        return copiedSeries;
+        if (clipped) {
+            return xSeries.toArray(clipStart, clipEnd - clipStart);
+        } else if (!compressed) {
+            return xSeries == null ? new double[0] : xSeries.toArray();
+        }
+        return copy(compressedXSeries, 0, compressedSize);
     }
 
     /*
      * @see ICompress#getCompressedYSeries()
      */
     public double[] getCompressedYSeries() {
-        double[] copiedSeries = new double[compressedYSeries.length];
-        System.arraycopy(compressedYSeries, 0, copiedSeries, 0,
-                compressedYSeries.length);
-
-        return copiedSeries;
+        if (clipped) {
+            return ySeries.toArray(clipStart, clipEnd - clipStart);
+        } else if (!compressed) {
+            return ySeries == null ? new double[0] : ySeries.toArray();
+        }
+        return copy(compressedYSeries, 0, compressedSize);
     }
 
     /*
      * @see ICompress#getCompressedIndexes()
      */
     public int[] getCompressedIndexes() {
-        int[] copiedSeries = new int[compressedIndexes.length];
-        System.arraycopy(compressedIndexes, 0, copiedSeries, 0,
-                compressedIndexes.length);
+        int[] copiedSeries;
+        if (clipped) {
+            copiedSeries = new int[clipEnd - clipStart];
+            for (int i = 0; i < copiedSeries.length; i++) {
+                copiedSeries[i] = clipStart + i;
+            }
+        } else if (!compressed) {
+            copiedSeries = new int[xSeries == null ? 0 : xSeries.size()];
+            for (int i = 0; i < copiedSeries.length; i++) {
+                copiedSeries[i] = i;
+            }
+        } else {
+            copiedSeries = new int[compressedSize];
+            System.arraycopy(compressedIndexes, 0, copiedSeries, 0,
+                    compressedSize);
+        }
+        return copiedSeries;
+    }
 
+    /**
+     * Copies the given number of elements from the given position of series.
+     * 
+     * @param series
+     *            the series to be copied
+     * @param start
+     *            the start index to be copied
+     * @param length
+     *            the number of elements to be copied
+     * @return the copied series
+     */
+    private static double[] copy(double[] series, int start, int length) {
+        double[] copiedSeries = new double[length];
+        if (length > 0) {
+            System.arraycopy(series, start, copiedSeries, 0, length);
+        }
         return copiedSeries;
     }
 
+    /**
+     * Notifies that plots are appended to the series shared with this
+     * compressor, and that the given number of the oldest plots are
+     * discarded. The series is compressed again by the next call of
+     * <tt>compress(CompressConfig)</tt> even if the configuration is not
+     * changed.
+     * 
+     * @param discarded
+     *            the number of discarded plots
+     */
+    public void seriesAppended(int discarded) {
+        prevConfig = null;
+        clipped = false;
+        compressed = compressed && shiftCompressedIndexes(discarded);
+    }
+
+    /**
+     * Shifts the series indexes of the compressed plots by the given number
+     * of discarded plots, so that the compressed series can be extended
+     * incrementally. The compressed series is discarded if the compressor
+     * doesn't support it.
+     * 
+     * @param discarded
+     *            the number of discarded plots
+     * @return true if the indexes are shifted
+     */
+    protected boolean shiftCompressedIndexes(int discarded) {
+        return false;
+    }
+
     /*
      * @see ICompress#compress(CompressConfig)
      */
@@ -150,6 +247,7 @@ public abstract class Compress implements ICompress {
 
         // store the previous configuration
         prevConfig = new CompressConfig(compressConfig);
+        clipped = false;
 
         this.config = compressConfig;
 
@@ -166,49 +264,124 @@ public abstract class Compress implements ICompress {
         previousXGridIndex = -1;
         previousYGridIndex = -1;
 
-        ArrayList<Double> xList = new ArrayList<Double>();
-        ArrayList<Double> yList = new ArrayList<Double>();
-        ArrayList<Integer> indexList = new ArrayList<Integer>();
+        // the buffers are kept across calls, and only grow when necessary
+        if (compressedXSeries == null) {
+            compressedXSeries = new double[INITIAL_CAPACITY];
+            compressedYSeries = new double[INITIAL_CAPACITY];
+            compressedIndexes = new int[INITIAL_CAPACITY];
+        }
+        compressedSize = 0;
 
-        // add necessary plots to the array
-        addNecessaryPlots(xList, yList, indexList);
+        // add necessary plots to the buffers
+        addNecessaryPlots();
 
-        compressedXSeries = new double[xList.size()];
-        compressedYSeries = new double[yList.size()];
-        compressedIndexes = new int[indexList.size()];
-        for (int i = 0; i < xList.size(); i++) {
-            compressedXSeries[i] = xList.get(i);
-            compressedYSeries[i] = yList.get(i);
-            compressedIndexes[i] = indexList.get(i);
+        compressed = true;
+
+        return true;
+    }
+
+    /**
+     * Adds the given range of coordinates to the buffers for compressed
+     * series. The buffers grow geometrically when they are full.
+     * 
+     * @param x
+     *            the X coordinates
+     * @param y
+     *            the Y coordinates
+     * @param indexes
+     *            the series indexes
+     * @param start
+     *            the start position in the given arrays
+     * @param length
+     *            the number of coordinates to be added
+     */
+    protected void addToList(double[] x, double[] y, int[] indexes,
+            int start, int length) {
+        if (compressedSize + length > compressedIndexes.length) {
+            grow(Math.max(compressedSize * 2, compressedSize + length));
         }
 
-        compressed = true;
+        System.arraycopy(x, start, compressedXSeries, compressedSize, length);
+        System.arraycopy(y, start, compressedYSeries, compressedSize, length);
+        System.arraycopy(indexes, start, compressedIndexes, compressedSize,
+                length);
+        compressedSize += length;
+    }
 
+    /**
+     * Clips the series to the X range of the given configuration without
+     * compressing it. This is used instead of <tt>compress(CompressConfig)</tt>
+     * when compressing series is disabled, so that only the plots in X range
+     * (and the adjacent plots out of range) are drawn.
+     * <p>
+     * The X series has to be monotone increasing, otherwise the series is not
+     * clipped.
+     * 
+     * @param compressConfig
+     *            the configuration for compression
+     */
+    public void clip(CompressConfig compressConfig) {
+        compressed = false;
+        clipped = false;
+        prevConfig = null;
+        if (!isXMonotoneIncreasing() || xSeries == null || ySeries == null) {
+            return;
+        }
+
+        int length = Math.min(xSeries.size(), ySeries.size());
+        clipStart = Math.max(getFirstIndexNotLessThan(compressConfig
+                .getXLowerValue()) - 1, 0);
+        clipEnd = Math.min(getFirstIndexGreaterThan(compressConfig
+                .getXUpperValue()) + 1, length);
+        clipStart = Math.min(clipStart, clipEnd);
+        clipped = true;
+    }
+
+    /**
+     * Gets the state indicating if the compressor expects the X series to be
+     * monotone increasing, in which case the plots in X range can be found
+     * with binary search.
+     * 
+     * @return true if the X series is expected to be monotone increasing
+     */
+    protected boolean isXMonotoneIncreasing() {
         return true;
     }
 
     /**
-     * Adds the necessary plots.
+     * Gets the index of the first plot whose X coordinate is not less than
+     * the given value, by binary search on the monotone increasing X series.
      * 
-     * @param xList
-     *            the array in which x coordinate for necessary plot is stored
-     * @param yList
-     *            the array in which y coordinate for necessary plot is stored
-     * @param indexList
-     *            the array in which series index for necessary plot is stored
+     * @param value
+     *            the X coordinate
+     * @return the index, or the length of X series if there is no such plot
      */
-    abstract protected void addNecessaryPlots(ArrayList<Double> xList,
-            ArrayList<Double> yList, ArrayList<Integer> indexList);
+    protected int getFirstIndexNotLessThan(double value) {
+        return xSeries.getFirstIndexNotLessThan(value);
+    }
 
     /**
-     * Adds the given coordinate to list.
+     * Gets the index of the first plot whose X coordinate is greater than the
+     * given value, by binary search on the monotone increasing X series.
+     * 
+     * @param value
+     *            the X coordinate
+     * @return the index, or the length of X series if there is no such plot
+     */
+    protected int getFirstIndexGreaterThan(double value) {
+        return xSeries.getFirstIndexGreaterThan(value);
+    }
+
+    /**
+     * Adds the necessary plots to the buffers for compressed series with
+     * <tt>addToList(double, double, int)</tt>.
+     */
+    abstract protected void addNecessaryPlots();
+
+    /**
+     * Adds the given coordinate to the buffers for compressed series. The
+     * buffers grow geometrically when they are full.
      * 
-     * @param xList
-     *            the list to store the X coordinate
-     * @param yList
-     *            the list to store the Y coordinate
-     * @param indexList
-     *            the list to store the series index
      * @param x
      *            the X coordinate
      * @param y
@@ -216,43 +389,82 @@ public abstract class Compress implements ICompress {
      * @param index
      *            the series index
      */
-    protected void addToList(ArrayList<Double> xList, ArrayList<Double> yList,
-            ArrayList<Integer> indexList, double x, double y, int index) {
-        xList.add(x);
-        yList.add(y);
-        indexList.add(index);
+    protected void addToList(double x, double y, int index) {
+        if (compressedSize == compressedIndexes.length) {
+            grow(compressedSize * 2);
+        }
+
+        compressedXSeries[compressedSize] = x;
+        compressedYSeries[compressedSize] = y;
+        compressedIndexes[compressedSize] = index;
+        compressedSize++;
     }
 
     /**
-     * Checks if the given coordinate is in the same grid as previous.
+     * Grows the buffers for compressed series to the given capacity.
+     * 
+     * @param capacity
+     *            the new capacity
+     */
+    private void grow(int capacity) {
+        double[] newXSeries = new double[capacity];
+        double[] newYSeries = new double[capacity];
+        int[] newIndexes = new int[capacity];
+        System.arraycopy(compressedXSeries, 0, newXSeries, 0,
+                compressedSize);
+        System.arraycopy(compressedYSeries, 0, newYSeries, 0,
+                compressedSize);
+        System.arraycopy(compressedIndexes, 0, newIndexes, 0,
+                compressedSize);
+        compressedXSeries = newXSeries;
+        compressedYSeries = newYSeries;
+        compressedIndexes = newIndexes;
+    }
+
+    /**
+     * Gets the X grid index for the given X coordinate.
      * 
      * @param x
      *            the X coordinate
-     * @param y
-     *            the Y coordinate
-     * @return true if the given coordinate is in the same grid as previous
+     * @return the X grid index
      */
-    protected boolean isInSameGridAsPrevious(double x, double y) {
-        int xGridIndex;
-        int yGridIndex;
-
-        // calculate the X grid index
+    protected int getXGridIndex(double x) {
         if (isXLogScale) {
             double lower = Math.log10(xLower);
             double upper = Math.log10(xUpper);
-            xGridIndex = (int) ((Math.log10(x) - lower) / (upper - lower) * widthInPixel);
-        } else {
-            xGridIndex = (int) ((x - xLower) / (xUpper - xLower) * widthInPixel);
+            return (int) ((Math.log10(x) - lower) / (upper - lower) * widthInPixel);
         }
+        return (int) ((x - xLower) / (xUpper - xLower) * widthInPixel);
+    }
 
-        // calculate the Y grid index
+    /**
+     * Gets the Y grid index for the given Y coordinate.
+     * 
+     * @param y
+     *            the Y coordinate
+     * @return the Y grid index
+     */
+    protected int getYGridIndex(double y) {
         if (isYLogScale) {
             double lower = Math.log10(yLower);
             double upper = Math.log10(yUpper);
-            yGridIndex = (int) ((Math.log10(y) - lower) / (upper - lower) * heightInPixel);
-        } else {
-            yGridIndex = (int) ((y - yLower) / (yUpper - yLower) * heightInPixel);
+            return (int) ((Math.log10(y) - lower) / (upper - lower) * heightInPixel);
         }
+        return (int) ((y - yLower) / (yUpper - yLower) * heightInPixel);
+    }
+
+    /**
+     * Checks if the given coordinate is in the same grid as previous.
+     * 
+     * @param x
+     *            the X coordinate
+     * @param y
+     *            the Y coordinate
+     * @return true if the given coordinate is in the same grid as previous
+     */
+    protected boolean isInSameGridAsPrevious(double x, double y) {
+        int xGridIndex = getXGridIndex(x);
+        int yGridIndex = getYGridIndex(y);
 
         // check if the grid index is the same as previous
         boolean isInSameGridAsPrevious = (xGridIndex == previousXGridIndex && yGridIndex == previousYGridIndex);
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.compress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.compress.ICompress;
+
+/**
+ * A utility to compress multiple series either one after another or in
+ * parallel with an executor.
+ * <p>
+ * Each compressor has to be given its own configuration, since compressor
+ * refers to the configuration while compressing. When compressing in
+ * parallel, this method returns after all series are compressed, so that the
+ * compressed series are never seen half updated.
+ */
+public class CompressAll {
+
+    /**
+     * Constructor.
+     */
+    private CompressAll() {
+        // do nothing
+    }
+
+    /**
+     * Compresses the series with the given compressors and configurations.
+     * 
+     * @param compressors
+     *            the compressors
+     * @param configs
+     *            the configurations for each compressor
+     * @param executor
+     *            the executor to compress series in parallel, or
+     *            <tt>null</tt> to compress series on the current thread
+     */
+    public static void compress(List<ICompress> compressors,
+            List<CompressConfig> configs, ExecutorService executor) {
+        if (executor == null || compressors.size() < 2) {
+            for (int i = 0; i < compressors.size(); i++) {
+                compressors.get(i).compress(configs.get(i));
+            }
+            return;
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+        for (int i = 0; i < compressors.size(); i++) {
+            final ICompress compressor = compressors.get(i);
+            final CompressConfig config = configs.get(i);
+            tasks.add(new Callable<Boolean>() {
+                public Boolean call() {
+                    return compressor.compress(config);
+                }
+            });
+        }
+
+        List<Future<Boolean>> futures;
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while compressing series", e);
+        }
+
+        for (Future<Boolean> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                        "Interrupted while compressing series", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+}
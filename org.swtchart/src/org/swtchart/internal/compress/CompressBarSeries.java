@@ -6,45 +6,43 @@
  *******************************************************************************/
 package org.swtchart.internal.compress;
 
-import java.util.ArrayList;
-
 /**
  * A compressor for bar series data.
  */
 public class CompressBarSeries extends Compress {
 
     /*
-     * @see Compress#addNecessaryPlots(ArrayList, ArrayList, ArrayList)
+     * @see Compress#addNecessaryPlots()
      */
     @Override
-    protected void addNecessaryPlots(ArrayList<Double> xList,
-            ArrayList<Double> yList, ArrayList<Integer> indexList) {
+    protected void addNecessaryPlots() {
 
-        double prevX = xSeries[0];
+        double prevX = xSeries.get(0);
         double maxY = Double.NaN;
         int prevIndex = 0;
 
-        for (int i = 0; i < xSeries.length; i++) {
-            if (xSeries[i] >= config.getXLowerValue()) {
-                if (isInSameGridXAsPrevious(xSeries[i])) {
-                    if (maxY < ySeries[i]) {
-                        maxY = ySeries[i];
+        int start = getFirstIndexNotLessThan(xLower);
+        for (int i = start; i < xSeries.size(); i++) {
+            if (xSeries.get(i) >= config.getXLowerValue()) {
+                if (isInSameGridXAsPrevious(xSeries.get(i))) {
+                    if (maxY < ySeries.get(i)) {
+                        maxY = ySeries.get(i);
                     }
                 } else {
                     if (!Double.isNaN(maxY)) {
-                        addToList(xList, yList, indexList, prevX, maxY, prevIndex);
+                        addToList(prevX, maxY, prevIndex);
                     }
-                    prevX = xSeries[i];
-                    maxY = ySeries[i];
+                    prevX = xSeries.get(i);
+                    maxY = ySeries.get(i);
                     prevIndex = i;
                 }
             }
 
-            if (xSeries[i] > config.getXUpperValue()) {
+            if (xSeries.get(i) > config.getXUpperValue()) {
                 break;
             }
         }
-        addToList(xList, yList, indexList, prevX, maxY, prevIndex);
+        addToList(prevX, maxY, prevIndex);
     }
 
     /**
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.compress;
+
+import org.swtchart.ISeriesDataProvider;
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.compress.ICompress;
+import org.swtchart.dataset.xy.IXYDataset;
+import org.swtchart.internal.buffer.ArraySeriesBuffer;
+import org.swtchart.internal.buffer.SeriesBuffer;
+
+/**
+ * A compressor asking the data provider for the plots in X range instead of
+ * compressing the series held in memory.
+ * <p>
+ * The plots given by the provider are not compressed further. The compressed
+ * series indexes are the indexes in the provided plots, which are held as the
+ * X and Y series of the series until the next compression.
+ */
+public class CompressDataProvider implements ICompress {
+
+    /** the empty series */
+    private static final SeriesBuffer EMPTY_SERIES = new ArraySeriesBuffer(
+            new double[0]);
+
+    /** the data provider */
+    private final ISeriesDataProvider provider;
+
+    /** the previous configuration for compressor */
+    private CompressConfig prevConfig;
+
+    /** the provided X series */
+    private SeriesBuffer xSeries;
+
+    /** the provided Y series */
+    private SeriesBuffer ySeries;
+
+    /**
+     * Constructor.
+     * 
+     * @param provider
+     *            the data provider
+     */
+    public CompressDataProvider(ISeriesDataProvider provider) {
+        this.provider = provider;
+        xSeries = EMPTY_SERIES;
+        ySeries = EMPTY_SERIES;
+    }
+
+    /**
+     * Gets the data provider.
+     * 
+     * @return the data provider
+     */
+    public ISeriesDataProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * Gets the X series provided by the last compression.
+     * 
+     * @return the X series
+     */
+    public SeriesBuffer getXSeries() {
+        return xSeries;
+    }
+
+    /**
+     * Gets the Y series provided by the last compression.
+     * 
+     * @return the Y series
+     */
+    public SeriesBuffer getYSeries() {
+        return ySeries;
+    }
+
+    /**
+     * Notifies that the plots of provider are modified, so that the plots are
+     * asked again by the next compression even if the configuration is not
+     * changed.
+     */
+    public void invalidate() {
+        prevConfig = null;
+    }
+
+    /*
+     * @see ICompress#compress(CompressConfig)
+     */
+    public boolean compress(CompressConfig config) {
+        if (config.equals(prevConfig)) {
+            return false;
+        }
+        prevConfig = new CompressConfig(config);
+
+        IXYDataset dataset = provider.getXYSeries(config.getXLowerValue(),
+                config.getXUpperValue(), (int) config.getWidthInPixel());
+        if (dataset == null) {
+            xSeries = EMPTY_SERIES;
+            ySeries = EMPTY_SERIES;
+            return true;
+        }
+
+        double[] x = dataset.getXvalues();
+        double[] y = dataset.getYvalues();
+        if (x.length != y.length) {
+            throw new IllegalStateException(
+                    "X and Y series provided must have the same length.");
+        }
+        xSeries = new ArraySeriesBuffer(x);
+        ySeries = new ArraySeriesBuffer(y);
+        return true;
+    }
+
+    /*
+     * @see ICompress#getCompressedXSeries()
+     */
+    public double[] getCompressedXSeries() {
+        return xSeries.toArray();
+    }
+
+    /*
+     * @see ICompress#getCompressedYSeries()
+     */
+    public double[] getCompressedYSeries() {
+        return ySeries.toArray();
+    }
+
+    /*
+     * @see ICompress#getCompressedIndexes()
+     */
+    public int[] getCompressedIndexes() {
+        int[] indexes = new int[xSeries.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        return indexes;
+    }
+
+    /*
+     * @see ICompress#setXSeries(double[])
+     */
+    public void setXSeries(double[] series) {
+        // the series is given by the provider
+    }
+
+    /*
+     * @see ICompress#setYSeries(double[])
+     */
+    public void setYSeries(double[] series) {
+        // the series is given by the provider
+    }
+}
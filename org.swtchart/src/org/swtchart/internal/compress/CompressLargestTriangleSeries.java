@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.compress;
+
+/**
+ * A compressor with Largest-Triangle-Three-Buckets downsampling.
+ * <p>
+ * The plots in X range are divided into buckets, and the plot forming the
+ * largest triangle with the plot selected in the previous bucket and the
+ * average of the next bucket is selected in each bucket. The number of
+ * compressed plots is the width of compression grid, which keeps the shape of
+ * series with the fixed small number of plots. X series has to be monotone
+ * increasing.
+ */
+public class CompressLargestTriangleSeries extends Compress {
+
+    /** the minimum number of plots to be selected */
+    private static final int MIN_THRESHOLD = 3;
+
+    /*
+     * @see Compress#addNecessaryPlots()
+     */
+    @Override
+    protected void addNecessaryPlots() {
+
+        // get the plots in range including the adjacent plots out of range
+        int start = Math.max(getFirstIndexNotLessThan(xLower) - 1, 0);
+        int end = Math.min(getFirstIndexGreaterThan(xUpper) + 1,
+                xSeries.size());
+
+        int count = end - start;
+        int threshold = (int) Math.max(config.getWidthInPixel(), MIN_THRESHOLD);
+        if (count <= threshold) {
+            for (int i = start; i < end; i++) {
+                addToList(xSeries.get(i), ySeries.get(i), i);
+            }
+            return;
+        }
+
+        // the first and last plots are always selected
+        double bucketSize = (double) (count - 2) / (threshold - 2);
+        int selected = start;
+        addToList(xSeries.get(selected), ySeries.get(selected), selected);
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+
+            // get the average of the next bucket
+            int nextStart = start + 1 + (int) ((bucket + 1) * bucketSize);
+            int nextEnd = Math.min(start + 1
+                    + (int) ((bucket + 2) * bucketSize), end);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += getX(i);
+                averageY += getY(i);
+            }
+            averageX /= nextEnd - nextStart;
+            averageY /= nextEnd - nextStart;
+
+            // select the plot forming the largest triangle in current bucket
+            double selectedX = getX(selected);
+            double selectedY = getY(selected);
+            double maxArea = -1;
+            int bucketStart = start + 1 + (int) (bucket * bucketSize);
+            for (int i = bucketStart; i < nextStart; i++) {
+                double area = Math.abs((selectedX - averageX)
+                        * (getY(i) - selectedY) - (selectedX - getX(i))
+                        * (averageY - selectedY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            addToList(xSeries.get(selected), ySeries.get(selected), selected);
+        }
+
+        addToList(xSeries.get(end - 1), ySeries.get(end - 1), end - 1);
+    }
+
+    /**
+     * Gets the X coordinate on the scale of axis.
+     * 
+     * @param index
+     *            the series index
+     * @return the X coordinate
+     */
+    private double getX(int index) {
+        return config.isXLogScale() ? Math.log10(xSeries.get(index))
+                : xSeries.get(index);
+    }
+
+    /**
+     * Gets the Y coordinate on the scale of axis.
+     * 
+     * @param index
+     *            the series index
+     * @return the Y coordinate
+     */
+    private double getY(int index) {
+        return config.isYLogScale() ? Math.log10(ySeries.get(index))
+                : ySeries.get(index);
+    }
+}
@@ -6,10 +6,16 @@
  *******************************************************************************/
 package org.swtchart.internal.compress;
 
-import java.util.ArrayList;
+import org.swtchart.compress.CompressConfig;
 
 /**
  * A compressor for line series data.
+ * <p>
+ * When X range is translated at the same scale (e.g. by scrolling axis), the
+ * compressed plots in the range shared with the previous compression are
+ * reused, and only the newly exposed plots are compressed. For this purpose,
+ * X grid is kept while translating, and the previous compressed series is
+ * kept in a second set of buffers.
  */
 public class CompressLineSeries extends Compress {
 
@@ -43,47 +49,263 @@ public class CompressLineSeries extends Compress {
         SteppingInRange;
     }
 
+    /** the relative tolerance to regard X range as translated */
+    private static final double TRANSLATION_TOLERANCE = 1e-9;
+
     /** the flag indicating whether the previous point is out of range */
     private boolean isPrevOutOfRange;
 
+    /** the lower value of X range where X grid starts */
+    private double gridLower;
+
+    /** the X range covered by the width of X grid */
+    private double gridRange;
+
+    /** the configuration for the previous compression */
+    private CompressConfig compressedConfig;
+
+    /** the index of the first plot in X range at the previous compression */
+    private int previousStart;
+
+    /** the index of the last plot in X range at the previous compression */
+    private int previousLast;
+
+    /** the number of plots in the previous compressed series */
+    private int previousSize;
+
+    /** the buffer for previous compressed X series */
+    private transient double[] previousXSeries;
+
+    /** the buffer for previous compressed Y series */
+    private transient double[] previousYSeries;
+
+    /** the buffer for previous compressed series indexes */
+    private transient int[] previousIndexes;
+
+    /*
+     * @see Compress#addNecessaryPlots()
+     */
+    @Override
+    protected void addNecessaryPlots() {
+
+        // the plots before the first plot in X range and after the first plot
+        // beyond X range don't change the state
+        int start = getFirstIndexNotLessThan(xLower);
+        int last = getFirstIndexGreaterThan(xUpper) - 1;
+        int end = Math.min(last + 2, xSeries.size());
+
+        if (!isTranslated() || !addPlotsIncrementally(start, last, end)) {
+            gridLower = xLower;
+            gridRange = xUpper - xLower;
+            isPrevOutOfRange = true;
+            addPlots(start, end);
+        }
+
+        compressedConfig = new CompressConfig(config);
+        previousStart = start;
+        previousLast = last;
+        previousSize = compressedSize;
+    }
+
+    /**
+     * Gets the state indicating if X range is translated at the same scale
+     * from the previous compression.
+     * 
+     * @return true if X range is translated
+     */
+    private boolean isTranslated() {
+        CompressConfig prev = compressedConfig;
+        if (!compressed || prev == null || config.isXLogScale()
+                || prev.isXLogScale()
+                || prev.isYLogScale() != config.isYLogScale()
+                || prev.getWidthInPixel() != config.getWidthInPixel()
+                || prev.getHeightInPixel() != config.getHeightInPixel()
+                || prev.getYLowerValue() != yLower
+                || prev.getYUpperValue() != yUpper) {
+            return false;
+        }
+
+        double range = xUpper - xLower;
+        return Math.abs(range - gridRange) <= range * TRANSLATION_TOLERANCE
+                && xLower < prev.getXUpperValue()
+                && prev.getXLowerValue() < xUpper;
+    }
+
     /*
-     * @see Compress#addNecessaryPlots(ArrayList, ArrayList, ArrayList)
+     * @see Compress#shiftCompressedIndexes(int)
      */
     @Override
-    protected void addNecessaryPlots(ArrayList<Double> xList,
-            ArrayList<Double> yList, ArrayList<Integer> indexList) {
+    protected boolean shiftCompressedIndexes(int discarded) {
+        if (discarded == 0) {
+            return true;
+        }
+
+        for (int i = 0; i < compressedSize; i++) {
+            compressedIndexes[i] -= discarded;
+        }
+        previousStart -= discarded;
+        previousLast -= discarded;
+        return true;
+    }
+
+    /**
+     * Adds the necessary plots reusing the previous compressed series.
+     * <p>
+     * After a plot following a plot in range, the state of compression is
+     * determined only by the plot itself. Therefore, between the first and
+     * last of such plots in X range shared with the previous compression, the
+     * compressed series is the same as the previous one.
+     * 
+     * @param start
+     *            the index of the first plot in X range
+     * @param last
+     *            the index of the last plot in X range
+     * @param end
+     *            the end index (exclusive) of plots to be compressed
+     * @return false if the previous compressed series cannot be reused
+     */
+    private boolean addPlotsIncrementally(int start, int last, int end) {
+
+        // the plots in X range of both previous and current compression
+        int lower = Math.max(start, previousStart);
+        int upper = Math.min(last, previousLast);
+
+        int first = lower + 1;
+        while (first <= upper
+                && !(isInYRange(first - 1) && isInYRange(first))) {
+            first++;
+        }
+        if (first > upper) {
+            return false;
+        }
+        int second = upper;
+        while (second > first
+                && !(isInYRange(second - 1) && isInYRange(second))) {
+            second--;
+        }
+
+        swapBuffers();
 
         isPrevOutOfRange = true;
+        addPlots(start, first + 1);
+
+        // copy the previous compressed plots after the first plot up to the
+        // second plot
+        int from = getFirstPositionAfter(first);
+        int to = getFirstPositionAfter(second);
+        addToList(previousXSeries, previousYSeries, previousIndexes, from, to
+                - from);
+
+        isPrevOutOfRange = false;
+        previousXGridIndex = getXGridIndex(xSeries.get(second));
+        previousYGridIndex = getYGridIndex(ySeries.get(second));
+        addPlots(second + 1, end);
 
-        for (int i = 0; i < xSeries.length; i++) {
+        return true;
+    }
+
+    /**
+     * Swaps the buffers for compressed series with the buffers for previous
+     * compressed series.
+     */
+    private void swapBuffers() {
+        double[] xBuffer = previousXSeries;
+        double[] yBuffer = previousYSeries;
+        int[] indexBuffer = previousIndexes;
+        if (xBuffer == null) {
+            xBuffer = new double[compressedXSeries.length];
+            yBuffer = new double[compressedYSeries.length];
+            indexBuffer = new int[compressedIndexes.length];
+        }
+
+        previousXSeries = compressedXSeries;
+        previousYSeries = compressedYSeries;
+        previousIndexes = compressedIndexes;
+        compressedXSeries = xBuffer;
+        compressedYSeries = yBuffer;
+        compressedIndexes = indexBuffer;
+    }
+
+    /**
+     * Gets the first position in the previous compressed series whose index
+     * is greater than the given index.
+     * 
+     * @param index
+     *            the series index
+     * @return the position
+     */
+    private int getFirstPositionAfter(int index) {
+        int low = 0;
+        int high = previousSize;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (previousIndexes[middle] <= index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the state indicating if the plot at the given index is in Y range.
+     * 
+     * @param index
+     *            the series index
+     * @return true if the plot is in Y range
+     */
+    private boolean isInYRange(int index) {
+        return yLower <= ySeries.get(index) && ySeries.get(index) <= yUpper;
+    }
+
+    /*
+     * @see Compress#getXGridIndex(double)
+     */
+    @Override
+    protected int getXGridIndex(double x) {
+        if (config.isXLogScale()) {
+            return super.getXGridIndex(x);
+        }
+        return (int) Math.floor((x - gridLower) / gridRange
+                * config.getWidthInPixel());
+    }
+
+    /**
+     * Adds the necessary plots in the given index range.
+     * 
+     * @param start
+     *            the start index
+     * @param end
+     *            the end index (exclusive)
+     */
+    private void addPlots(int start, int end) {
+        for (int i = start; i < end; i++) {
             STATE state = getState(i);
 
             switch (state) {
             case SteppingOutOfYRange:
-                addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
+                addToList(xSeries.get(i), ySeries.get(i), i);
                 break;
             case SteppingOverYRange:
             case SteppingInRange:
             case SteppingInXRange:
-                addToList(xList, yList, indexList, xSeries[i - 1],
-                        ySeries[i - 1], i - 1);
-                addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
+                addToList(xSeries.get(i - 1), ySeries.get(i - 1), i - 1);
+                addToList(xSeries.get(i), ySeries.get(i), i);
                 break;
             case SteppingOverXRange:
             case SteppingOutOfXRange:
-                addToList(xList, yList, indexList, xSeries[i - 1],
-                        ySeries[i - 1], i - 1);
-                addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
-                i = xSeries.length;
+                addToList(xSeries.get(i - 1), ySeries.get(i - 1), i - 1);
+                addToList(xSeries.get(i), ySeries.get(i), i);
+                i = end;
                 break;
             case SteppingOutOfRange:
-                addToList(xList, yList, indexList, xSeries[i], ySeries[i], i);
-                i = xSeries.length;
+                addToList(xSeries.get(i), ySeries.get(i), i);
+                i = end;
                 break;
             case InRangeAgain:
-                if (!isInSameGridAsPrevious(xSeries[i], ySeries[i])) {
-                    addToList(xList, yList, indexList, xSeries[i], ySeries[i],
-                            i);
+                if (!isInSameGridAsPrevious(xSeries.get(i), ySeries.get(i))) {
+                    addToList(xSeries.get(i), ySeries.get(i), i);
                 }
                 break;
             case OutOfRangeAgain:
@@ -105,8 +327,8 @@ public class CompressLineSeries extends Compress {
 
         STATE state;
 
-        if (xLower <= xSeries[index] && xSeries[index] <= xUpper) {
-            if (yLower <= ySeries[index] && ySeries[index] <= yUpper) {
+        if (xLower <= xSeries.get(index) && xSeries.get(index) <= xUpper) {
+            if (yLower <= ySeries.get(index) && ySeries.get(index) <= yUpper) {
                 if (index > 0 && isPrevOutOfRange) {
                     state = STATE.SteppingInRange;
                 } else {
@@ -114,11 +336,11 @@ public class CompressLineSeries extends Compress {
                 }
             } else {
                 if (isPrevOutOfRange) {
-                    if (index > 0 && ySeries[index - 1] < yLower
-                            && ySeries[index] > yUpper) {
+                    if (index > 0 && ySeries.get(index - 1) < yLower
+                            && ySeries.get(index) > yUpper) {
                         state = STATE.SteppingOverYRange;
-                    } else if (index > 0 && xSeries[index - 1] < xLower
-                            && xSeries[index] > xLower) {
+                    } else if (index > 0 && xSeries.get(index - 1) < xLower
+                            && xSeries.get(index) > xLower) {
                         state = STATE.SteppingInXRange;
                     } else {
                         state = STATE.OutOfRangeAgain;
@@ -130,11 +352,11 @@ public class CompressLineSeries extends Compress {
         } else {
             if (!isPrevOutOfRange) {
                 state = STATE.SteppingOutOfRange;
-            } else if (index > 0 && xSeries[index - 1] < xUpper
-                    && xSeries[index] > xUpper) {
+            } else if (index > 0 && xSeries.get(index - 1) < xUpper
+                    && xSeries.get(index) > xUpper) {
                 state = STATE.SteppingOutOfXRange;
-            } else if (index > 0 && xSeries[index - 1] < xLower
-                    && xSeries[index] > xUpper) {
+            } else if (index > 0 && xSeries.get(index - 1) < xLower
+                    && xSeries.get(index) > xUpper) {
                 state = STATE.SteppingOverXRange;
             } else {
                 state = STATE.OutOfRangeAgain;
@@ -142,8 +364,8 @@ public class CompressLineSeries extends Compress {
         }
 
         // set flag
-        if (xLower <= xSeries[index] && xSeries[index] <= xUpper
-                && yLower <= ySeries[index] && ySeries[index] <= yUpper) {
+        if (xLower <= xSeries.get(index) && xSeries.get(index) <= xUpper
+                && yLower <= ySeries.get(index) && ySeries.get(index) <= yUpper) {
             isPrevOutOfRange = false;
         } else {
             isPrevOutOfRange = true;
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.compress;
+
+import org.swtchart.internal.buffer.MinMaxPyramid;
+import org.swtchart.internal.buffer.SeriesBuffer;
+
+/**
+ * A compressor for line series data which keeps the first, last, minimum and
+ * maximum plots in each grid column (so called M4 aggregation).
+ * <p>
+ * Since the line drawn through the kept plots covers the same pixels in each
+ * column as the line drawn through all plots, the compressed series is
+ * rendered like the full series, while the number of compressed plots is
+ * bounded at 4 times the number of columns regardless of the series size. X
+ * series has to be monotone increasing.
+ * <p>
+ * The minimum and maximum plots in each column are found with the
+ * <tt>MinMaxPyramid</tt> of Y series, so that the cost of compression is
+ * proportional to the number of columns rather than to the number of plots in
+ * range.
+ */
+public class CompressMinMaxLineSeries extends Compress {
+
+    /** the min/max index of Y series */
+    private MinMaxPyramid pyramid;
+
+    /** the lower value of X range on the scale of axis */
+    private double lower;
+
+    /** the number of columns per unit of X value on the scale of axis */
+    private double columnsPerValue;
+
+    /** the indexes of minimum and maximum plots in a column */
+    private final int[] minMaxIndexes = new int[2];
+
+    /*
+     * @see Compress#setYSeries(SeriesBuffer)
+     */
+    @Override
+    public void setYSeries(SeriesBuffer ySeries) {
+        super.setYSeries(ySeries);
+        if (ySeries != null) {
+            // build the index shared with the series in advance
+            ySeries.getMinMaxPyramid();
+        }
+    }
+
+    /*
+     * @see Compress#addNecessaryPlots()
+     */
+    @Override
+    protected void addNecessaryPlots() {
+        boolean isXLogScale = config.isXLogScale();
+        lower = isXLogScale ? Math.log10(xLower) : xLower;
+        double upper = isXLogScale ? Math.log10(xUpper) : xUpper;
+        columnsPerValue = config.getWidthInPixel() / (upper - lower);
+        pyramid = ySeries.getMinMaxPyramid();
+
+        int start = getFirstIndexNotLessThan(xLower);
+        int end = Math.min(getFirstIndexGreaterThan(xUpper), ySeries.size());
+
+        if (start > 0 && start <= ySeries.size()) {
+            // the line steps in range from the previous plot, which is also
+            // necessary to draw the line crossing the range without plot
+            addToList(xSeries.get(start - 1), ySeries.get(start - 1), start - 1);
+        }
+
+        int first = start;
+        while (first < end) {
+            int next = getFirstIndexInNextColumn(first, end);
+            addColumn(first, next - 1);
+            first = next;
+        }
+
+        if (end < xSeries.size() && end < ySeries.size()) {
+            // the line steps out of range toward the next plot
+            addToList(xSeries.get(end), ySeries.get(end), end);
+        }
+    }
+
+    /**
+     * Gets the column of the plot at the given index.
+     * 
+     * @param index
+     *            the series index
+     * @return the column
+     */
+    private int getColumn(int index) {
+        double x = config.isXLogScale() ? Math.log10(xSeries.get(index))
+                : xSeries.get(index);
+        return (int) ((x - lower) * columnsPerValue);
+    }
+
+    /**
+     * Gets the index of the first plot in the column next to the column of
+     * the given plot, by exponential search from the given plot.
+     * 
+     * @param index
+     *            the index of the first plot in column
+     * @param end
+     *            the end index (exclusive) of plots in range
+     * @return the index of the first plot in the next column, or the end index
+     *         if there is no plot in the next columns
+     */
+    private int getFirstIndexInNextColumn(int index, int end) {
+        int column = getColumn(index);
+
+        // find the range containing the first plot in the next column
+        int low = index + 1;
+        int step = 1;
+        while (low + step <= end && getColumn(low + step - 1) == column) {
+            low += step;
+            step <<= 1;
+        }
+        int high = Math.min(low + step - 1, end);
+
+        // search the first plot in the next column within the range
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getColumn(middle) == column) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Adds the first, minimum, maximum and last plots of a column in the
+     * order of series index.
+     * 
+     * @param firstIndex
+     *            the index of the first plot in column
+     * @param lastIndex
+     *            the index of the last plot in column
+     */
+    private void addColumn(int firstIndex, int lastIndex) {
+        pyramid.getMinMaxIndexes(firstIndex, lastIndex + 1, minMaxIndexes);
+        int lowerIndex = Math.min(minMaxIndexes[0], minMaxIndexes[1]);
+        int upperIndex = Math.max(minMaxIndexes[0], minMaxIndexes[1]);
+
+        addToList(xSeries.get(firstIndex), ySeries.get(firstIndex), firstIndex);
+        if (lowerIndex != firstIndex) {
+            addToList(xSeries.get(lowerIndex), ySeries.get(lowerIndex), lowerIndex);
+        }
+        if (upperIndex != lowerIndex) {
+            addToList(xSeries.get(upperIndex), ySeries.get(upperIndex), upperIndex);
+        }
+        if (lastIndex != upperIndex) {
+            addToList(xSeries.get(lastIndex), ySeries.get(lastIndex), lastIndex);
+        }
+    }
+}
@@ -6,8 +6,6 @@
  *******************************************************************************/
 package org.swtchart.internal.compress;
 
-import java.util.ArrayList;
-
 /**
  * A compressor for scatter series data
  */
@@ -16,21 +14,27 @@ public class CompressScatterSeries extends Compress {
     /** the state indicating if line is visible */
     private boolean isLineVisible;
 
-    /** flag indicating whether the grid is occupied */
-    private boolean occupied[][];
+    /** the grid indicating whether each cell is occupied */
+    private final OccupancyGrid occupied = new OccupancyGrid();
+
+    /*
+     * @see Compress#isXMonotoneIncreasing()
+     */
+    @Override
+    protected boolean isXMonotoneIncreasing() {
+        return false;
+    }
 
     /*
-     * @see Compress#addNecessaryPlots(ArrayList, ArrayList, ArrayList)
+     * @see Compress#addNecessaryPlots()
      */
     @Override
-    protected void addNecessaryPlots(ArrayList<Double> xList,
-            ArrayList<Double> yList, ArrayList<Integer> indexList) {
+    protected void addNecessaryPlots() {
 
         if (isLineVisible) {
-            for (int i = 0; i < xSeries.length; i++) {
-                if (!isInSameGridAsPrevious(xSeries[i], ySeries[i])) {
-                    addToList(xList, yList, indexList, xSeries[i], ySeries[i],
-                            i);
+            for (int i = 0; i < xSeries.size(); i++) {
+                if (!isInSameGridAsPrevious(xSeries.get(i), ySeries.get(i))) {
+                    addToList(xSeries.get(i), ySeries.get(i), i);
                 }
             }
         } else {
@@ -41,15 +45,14 @@ public class CompressScatterSeries extends Compress {
                 return;
             }
 
-            // initialize flag
-            occupied = new boolean[width][height];
+            // clear the grid kept from the previous compression
+            occupied.reset(width, height);
 
-            for (int i = 0; i < xSeries.length; i++) {
-                if (xSeries[i] >= xLower && xSeries[i] <= xUpper
-                        && ySeries[i] >= yLower && ySeries[i] <= yUpper
-                        && !isOccupied(xSeries[i], ySeries[i])) {
-                    addToList(xList, yList, indexList, xSeries[i], ySeries[i],
-                            i);
+            for (int i = 0; i < xSeries.size(); i++) {
+                if (xSeries.get(i) >= xLower && xSeries.get(i) <= xUpper
+                        && ySeries.get(i) >= yLower && ySeries.get(i) <= yUpper
+                        && !isOccupied(xSeries.get(i), ySeries.get(i))) {
+                    addToList(xSeries.get(i), ySeries.get(i), i);
                 }
             }
         }
@@ -92,11 +95,11 @@ public class CompressScatterSeries extends Compress {
                     .getHeightInPixel());
         }
 
-        boolean isOccupied = occupied[xGridIndex][yGridIndex];
-
-        occupied[xGridIndex][yGridIndex] = true;
-
-        return isOccupied;
+        // the plots at upper bound belong to the last grid
+        int width = (int) config.getWidthInPixel();
+        int height = (int) config.getHeightInPixel();
+        return occupied.occupy(Math.min(xGridIndex, width - 1), Math.min(
+                yGridIndex, height - 1));
     }
 
     /**
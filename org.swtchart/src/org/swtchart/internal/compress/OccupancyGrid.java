@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.compress;
+
+import java.util.Arrays;
+
+/**
+ * A grid of flags indicating whether each cell is occupied, packed into bits.
+ * <p>
+ * The grid is kept across compressions and only grows when a larger grid is
+ * required. The words having occupied cells are recorded up to a limit, so
+ * that clearing the grid for sparse data doesn't have to touch every word.
+ */
+public class OccupancyGrid {
+
+    /** the maximum number of words recorded to be cleared */
+    private static final int MAX_DIRTY_WORDS = 1024;
+
+    /** the bits indicating whether each cell is occupied */
+    private long[] words = new long[0];
+
+    /** the number of words used for the current grid size */
+    private int usedWords;
+
+    /** the grid height */
+    private int height;
+
+    /** the indexes of words having occupied cells */
+    private final int[] dirtyWords = new int[MAX_DIRTY_WORDS];
+
+    /** the number of words having occupied cells */
+    private int dirtyCount;
+
+    /**
+     * Resets the grid with the given size, and clears all cells.
+     * 
+     * @param width
+     *            the grid width
+     * @param height
+     *            the grid height
+     */
+    public void reset(int width, int height) {
+        clear();
+
+        this.height = height;
+        long cells = (long) width * height;
+        usedWords = (int) ((cells + 63) >>> 6);
+        if (words.length < usedWords) {
+            words = new long[usedWords];
+        }
+    }
+
+    /**
+     * Clears all cells.
+     */
+    private void clear() {
+        if (dirtyCount <= MAX_DIRTY_WORDS) {
+            for (int i = 0; i < dirtyCount; i++) {
+                words[dirtyWords[i]] = 0;
+            }
+        } else {
+            Arrays.fill(words, 0, usedWords, 0);
+        }
+        dirtyCount = 0;
+    }
+
+    /**
+     * Marks the given cell as occupied.
+     * 
+     * @param x
+     *            the X grid index
+     * @param y
+     *            the Y grid index
+     * @return true if the cell was already occupied
+     */
+    public boolean occupy(int x, int y) {
+        long cell = (long) x * height + y;
+        int index = (int) (cell >>> 6);
+        long mask = 1L << cell;
+        long word = words[index];
+
+        if ((word & mask) != 0) {
+            return true;
+        }
+
+        if (word == 0) {
+            if (dirtyCount < MAX_DIRTY_WORDS) {
+                dirtyWords[dirtyCount] = index;
+            }
+            dirtyCount++;
+        }
+        words[index] = word | mask;
+        return false;
+    }
+}
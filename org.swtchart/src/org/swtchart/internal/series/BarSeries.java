@@ -80,6 +80,7 @@ public class BarSeries extends Series implements IBarSeries {
             SWT.error(SWT.ERROR_INVALID_ARGUMENT);
         }
         this.padding = padding;
+        newRevision();
     }
 
     /*
@@ -106,6 +107,7 @@ public class BarSeries extends Series implements IBarSeries {
         } else {
             this.barColor = color;
         }
+        newRevision();
     }
 
     /*
@@ -117,12 +119,12 @@ public class BarSeries extends Series implements IBarSeries {
             return compressedBounds;
         }
 
-        Rectangle[] rs = new Rectangle[xSeries.length];
+        Rectangle[] rs = new Rectangle[xSeries.size()];
         double[] comporessedXSeries = compressor.getCompressedXSeries();
         int cnt = 0;
-        for (int i = 0; i < xSeries.length; i++) {
+        for (int i = 0; i < xSeries.size(); i++) {
             if (cnt < comporessedXSeries.length
-                    && comporessedXSeries[cnt] == xSeries[i]) {
+                    && comporessedXSeries[cnt] == xSeries.get(i)) {
                 rs[i] = compressedBounds[cnt++];
             }
         }
@@ -151,8 +153,9 @@ public class BarSeries extends Series implements IBarSeries {
         Rectangle[] rectangles = new Rectangle[xseries.length];
         Range xRange = xAxis.getRange();
         Range yRange = yAxis.getRange();
+        int[] xPixels = getPixelCoordinates(xAxis, xseries);
         for (int i = 0; i < xseries.length; i++) {
-            int x = xAxis.getPixelCoordinate(xseries[i]);
+            int x = xPixels[i];
             int y = yAxis
                     .getPixelCoordinate(isValidStackSeries() ? stackSeries[indexes[i]]
                             : yseries[i]);
@@ -267,9 +270,12 @@ public class BarSeries extends Series implements IBarSeries {
      */
     @Override
     protected void setCompressor() {
+        // reuse the existing compressor to keep its buffers
         if (isXMonotoneIncreasing) {
-            compressor = new CompressBarSeries();
-        } else {
+            if (!(compressor instanceof CompressBarSeries)) {
+                compressor = new CompressBarSeries();
+            }
+        } else if (!(compressor instanceof CompressScatterSeries)) {
             compressor = new CompressScatterSeries();
         }
     }
@@ -279,29 +285,45 @@ public class BarSeries extends Series implements IBarSeries {
      */
     @Override
     public Range getAdjustedRange(Axis axis, int length) {
+        if (axis.getDirection() != Direction.X) {
+            return getAdjustedYRange(axis, length, getYRange());
+        }
+
+        // only the plots at both ends are needed to get the riser widths
+        int plots = Math.min(xSeries.size(), 2);
+        double lowerRiserWidth = 0;
+        double upperRiserWidth = 0;
+        if (plots > 0) {
+            double[] lowerPlots = xSeries.toArray(0, plots);
+            double[] upperPlots = xSeries.toArray(xSeries.size() - plots,
+                    plots);
+            lowerRiserWidth = getRiserWidth(lowerPlots, 0, axis, minX, maxX);
+            upperRiserWidth = getRiserWidth(upperPlots, plots - 1, axis, minX,
+                    maxX);
+        }
 
         // calculate a range which has margin
-        Range range;
-        int lowerPlotMargin;
-        int upperPlotMargin;
-        if (axis.getDirection() == Direction.X) {
-            double lowerRiserWidth = getRiserWidth(xSeries, 0, axis, minX, maxX);
-            double upperRiserWidth = getRiserWidth(xSeries, xSeries.length - 1,
-                    axis, minX, maxX);
-            lowerPlotMargin = (int) (lowerRiserWidth / 2d + MARGIN_AT_MIN_MAX_PLOT);
-            upperPlotMargin = (int) (upperRiserWidth / 2d + MARGIN_AT_MIN_MAX_PLOT);
-            range = getXRange();
-        } else {
-            range = getYRange();
-            if (range.upper < 0) {
-                range.upper = 0;
-            }
-            if (range.lower > 0) {
-                range.lower = axis.isLogScaleEnabled() ? minY : 0;
-            }
-            lowerPlotMargin = (range.lower == 0) ? 0 : MARGIN_AT_MIN_MAX_PLOT;
-            upperPlotMargin = (range.upper == 0) ? 0 : MARGIN_AT_MIN_MAX_PLOT;
+        int lowerPlotMargin = (int) (lowerRiserWidth / 2d + MARGIN_AT_MIN_MAX_PLOT);
+        int upperPlotMargin = (int) (upperRiserWidth / 2d + MARGIN_AT_MIN_MAX_PLOT);
+        return getRangeWithMargin(lowerPlotMargin, upperPlotMargin, length,
+                axis, getXRange());
+    }
+
+    /*
+     * @see Series#getAdjustedYRange(Axis, int, Range)
+     */
+    @Override
+    public Range getAdjustedYRange(Axis axis, int length, Range range) {
+
+        // the risers grow from zero unless log scale is enabled
+        if (range.upper < 0) {
+            range.upper = 0;
+        }
+        if (range.lower > 0 && !axis.isLogScaleEnabled()) {
+            range.lower = 0;
         }
+        int lowerPlotMargin = (range.lower == 0) ? 0 : MARGIN_AT_MIN_MAX_PLOT;
+        int upperPlotMargin = (range.upper == 0) ? 0 : MARGIN_AT_MIN_MAX_PLOT;
 
         return getRangeWithMargin(lowerPlotMargin, upperPlotMargin, length,
                 axis, range);
@@ -400,11 +422,11 @@ public class BarSeries extends Series implements IBarSeries {
 
                 int h, v;
                 if (xAxis.isHorizontalAxis()) {
-                    h = xAxis.getPixelCoordinate(xSeries[indexes[i]]);
-                    v = yAxis.getPixelCoordinate(ySeries[indexes[i]]);
+                    h = xAxis.getPixelCoordinate(xSeries.get(indexes[i]));
+                    v = yAxis.getPixelCoordinate(ySeries.get(indexes[i]));
                 } else {
-                    v = xAxis.getPixelCoordinate(xSeries[indexes[i]]);
-                    h = yAxis.getPixelCoordinate(ySeries[indexes[i]]);
+                    v = xAxis.getPixelCoordinate(xSeries.get(indexes[i]));
+                    h = yAxis.getPixelCoordinate(ySeries.get(indexes[i]));
                 }
                 xErrorBar.draw(gc, h, v, xAxis, indexes[i]);
                 yErrorBar.draw(gc, h, v, yAxis, indexes[i]);
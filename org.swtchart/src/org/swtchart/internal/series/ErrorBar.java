@@ -51,6 +51,9 @@ public class ErrorBar implements IErrorBar {
     /** the visibility state */
     private boolean isVisible;
 
+    /** the revision incremented whenever the error bar is changed */
+    private int revision;
+
     /**
      * The constructor.
      */
@@ -78,6 +81,7 @@ public class ErrorBar implements IErrorBar {
         } else {
             this.type = type;
         }
+        revision++;
     }
 
     /*
@@ -103,6 +107,7 @@ public class ErrorBar implements IErrorBar {
         } else {
             this.color = color;
         }
+        revision++;
     }
 
     /*
@@ -121,6 +126,7 @@ public class ErrorBar implements IErrorBar {
         } else {
             this.lineWidth = width;
         }
+        revision++;
     }
 
     /*
@@ -140,6 +146,7 @@ public class ErrorBar implements IErrorBar {
         }
 
         this.error = error;
+        revision++;
     }
 
     /*
@@ -167,6 +174,7 @@ public class ErrorBar implements IErrorBar {
 
         this.plusErrors = new double[errors.length];
         System.arraycopy(errors, 0, plusErrors, 0, errors.length);
+        revision++;
     }
 
     /*
@@ -194,6 +202,7 @@ public class ErrorBar implements IErrorBar {
 
         this.minusErrors = new double[errors.length];
         System.arraycopy(errors, 0, minusErrors, 0, errors.length);
+        revision++;
     }
 
     /*
@@ -208,6 +217,16 @@ public class ErrorBar implements IErrorBar {
      */
     public void setVisible(boolean visible) {
         this.isVisible = visible;
+        revision++;
+    }
+
+    /**
+     * Gets the revision, which is incremented whenever the error bar is changed.
+     * 
+     * @return the revision
+     */
+    public int getRevision() {
+        return revision;
     }
 
     /**
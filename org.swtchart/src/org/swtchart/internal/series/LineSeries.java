@@ -15,6 +15,7 @@ import org.swtchart.ILineSeries;
 import org.swtchart.LineStyle;
 import org.swtchart.Range;
 import org.swtchart.IAxis.Direction;
+import org.swtchart.compress.CompressorRegistry;
 import org.swtchart.dataset.xy.IXYDataset;
 import org.swtchart.internal.Util;
 import org.swtchart.internal.axis.Axis;
@@ -56,6 +57,9 @@ public class LineSeries extends Series implements ILineSeries {
     /** the anti-aliasing value for drawing line */
     private int antialias;
 
+    /** the buffer for polyline points */
+    private transient int[] polylinePoints;
+
     /** the alpha value to draw area */
     private static final int ALPHA = 50;
 
@@ -122,6 +126,7 @@ public class LineSeries extends Series implements ILineSeries {
     public void setLineStyle(LineStyle style) {
         if (style == null) {
             this.lineStyle = DEFAULT_LINE_STYLE;
+            newRevision();
             return;
         }
 
@@ -130,6 +135,7 @@ public class LineSeries extends Series implements ILineSeries {
             ((CompressScatterSeries) compressor)
                     .setLineVisible(style != LineStyle.NONE);
         }
+        newRevision();
     }
 
     /*
@@ -156,6 +162,7 @@ public class LineSeries extends Series implements ILineSeries {
         } else {
             this.lineColor = color;
         }
+        newRevision();
     }
 
     /*
@@ -174,6 +181,7 @@ public class LineSeries extends Series implements ILineSeries {
         } else {
             this.lineWidth = width;
         }
+        newRevision();
     }
 
     /*
@@ -192,6 +200,7 @@ public class LineSeries extends Series implements ILineSeries {
         } else {
             this.symbolType = type;
         }
+        newRevision();
     }
 
     /*
@@ -210,6 +219,7 @@ public class LineSeries extends Series implements ILineSeries {
         } else {
             this.symbolSize = size;
         }
+        newRevision();
     }
 
     /*
@@ -233,6 +243,7 @@ public class LineSeries extends Series implements ILineSeries {
         } else {
             this.symbolColor = color;
         }
+        newRevision();
     }
 
     /*
@@ -256,6 +267,7 @@ public class LineSeries extends Series implements ILineSeries {
     public void setSymbolColors(Color[] colors) {
         if (colors == null) {
             symbolColors = null;
+            newRevision();
             return;
         }
 
@@ -267,6 +279,7 @@ public class LineSeries extends Series implements ILineSeries {
 
         symbolColors = new Color[colors.length];
         System.arraycopy(colors, 0, symbolColors, 0, colors.length);
+        newRevision();
     }
 
     /*
@@ -274,20 +287,47 @@ public class LineSeries extends Series implements ILineSeries {
      */
     @Override
     protected void setCompressor() {
+        // reuse the existing compressor to keep its buffers
         if (isXMonotoneIncreasing) {
-            compressor = new CompressLineSeries();
+            if (!(compressor instanceof CompressLineSeries)) {
+                compressor = new CompressLineSeries();
+            }
         } else {
-            compressor = new CompressScatterSeries();
+            if (!(compressor instanceof CompressScatterSeries)) {
+                compressor = new CompressScatterSeries();
+            }
             ((CompressScatterSeries) compressor)
                     .setLineVisible(getLineStyle() != LineStyle.NONE);
         }
     }
 
+    /*
+     * @see ILineSeries#getCompressionType()
+     */
+    public CompressionType getCompressionType() {
+        if (CompressorRegistry.MIN_MAX.equals(compressorId)) {
+            return CompressionType.MIN_MAX;
+        }
+        return CompressionType.DEFAULT;
+    }
+
+    /*
+     * @see ILineSeries#setCompressionType(CompressionType)
+     */
+    public void setCompressionType(CompressionType type) {
+        if (type == CompressionType.MIN_MAX) {
+            setCompressorId(CompressorRegistry.MIN_MAX);
+        } else if (CompressorRegistry.MIN_MAX.equals(compressorId)) {
+            setCompressorId(null);
+        }
+    }
+
     /*
      * @see ILineSeries#enableArea(boolean)
      */
     public void enableArea(boolean enabled) {
         areaEnabled = enabled;
+        newRevision();
     }
 
     /*
@@ -302,6 +342,7 @@ public class LineSeries extends Series implements ILineSeries {
      */
     public void enableStep(boolean enabled) {
         stepEnabled = enabled;
+        newRevision();
     }
 
     /*
@@ -316,19 +357,21 @@ public class LineSeries extends Series implements ILineSeries {
      */
     @Override
     public Range getAdjustedRange(Axis axis, int length) {
-
-        Range range;
         if (axis.getDirection() == Direction.X) {
-            range = getXRange();
-        } else {
-            range = getYRange();
+            int margin = getSymbolSize() + MARGIN_AT_MIN_MAX_PLOT;
+            return getRangeWithMargin(margin, margin, length, axis,
+                    getXRange());
         }
+        return getAdjustedYRange(axis, length, getYRange());
+    }
 
-        int lowerPlotMargin = getSymbolSize() + MARGIN_AT_MIN_MAX_PLOT;
-        int upperPlotMargin = getSymbolSize() + MARGIN_AT_MIN_MAX_PLOT;
-
-        return getRangeWithMargin(lowerPlotMargin, upperPlotMargin, length,
-                axis, range);
+    /*
+     * @see Series#getAdjustedYRange(Axis, int, Range)
+     */
+    @Override
+    public Range getAdjustedYRange(Axis axis, int length, Range range) {
+        int margin = getSymbolSize() + MARGIN_AT_MIN_MAX_PLOT;
+        return getRangeWithMargin(margin, margin, length, axis, range);
     }
 
     /*
@@ -347,6 +390,7 @@ public class LineSeries extends Series implements ILineSeries {
             SWT.error(SWT.ERROR_INVALID_ARGUMENT);
         }
         this.antialias = antialias;
+        newRevision();
     }
 
     /**
@@ -488,26 +532,71 @@ public class LineSeries extends Series implements ILineSeries {
                 }
             }
         } else {
-            double xLower = xAxis.getRange().lower;
-            double xUpper = xAxis.getRange().upper;
-            double yLower = yAxis.getRange().lower;
-            double yUpper = yAxis.getRange().upper;
+            drawPolylines(gc, xseries, yseries, xAxis, yAxis);
+        }
+    }
 
-            int prevX = xAxis.getPixelCoordinate(xseries[0], xLower, xUpper);
-            int prevY = yAxis.getPixelCoordinate(yseries[0], yLower, yUpper);
-            for (int i = 0; i < xseries.length - 1; i++) {
-                int x = xAxis
-                        .getPixelCoordinate(xseries[i + 1], xLower, xUpper);
-                int y = yAxis
-                        .getPixelCoordinate(yseries[i + 1], yLower, yUpper);
-                if (isHorizontal) {
-                    gc.drawLine(prevX, prevY, x, y);
-                } else {
-                    gc.drawLine(prevY, prevX, y, x);
-                }
-                prevX = x;
-                prevY = y;
+    /**
+     * Draws the line as polylines. The line is split into polylines at the
+     * plots having NaN, which are not drawn.
+     *
+     * @param gc
+     *            the graphics context
+     * @param xseries
+     *            the X series
+     * @param yseries
+     *            the Y series
+     * @param xAxis
+     *            the x axis
+     * @param yAxis
+     *            the y axis
+     */
+    private void drawPolylines(GC gc, double[] xseries, double[] yseries,
+            Axis xAxis, Axis yAxis) {
+        int[] xPixels = getPixelCoordinates(xAxis, xseries);
+        int[] yPixels = getPixelCoordinates(yAxis, yseries);
+        boolean isHorizontal = xAxis.isHorizontalAxis();
+
+        // the buffer is kept while the number of plots doesn't change
+        if (polylinePoints == null
+                || polylinePoints.length != xseries.length * 2) {
+            polylinePoints = new int[xseries.length * 2];
+        }
+
+        int length = 0;
+        for (int i = 0; i < xseries.length; i++) {
+            if (Double.isNaN(xseries[i]) || Double.isNaN(yseries[i])) {
+                drawPolyline(gc, length);
+                length = 0;
+                continue;
             }
+
+            polylinePoints[length++] = isHorizontal ? xPixels[i] : yPixels[i];
+            polylinePoints[length++] = isHorizontal ? yPixels[i] : xPixels[i];
+        }
+        drawPolyline(gc, length);
+    }
+
+    /**
+     * Draws the polyline with the given number of coordinates at the head of
+     * the buffer for polyline points.
+     *
+     * @param gc
+     *            the graphics context
+     * @param length
+     *            the number of coordinates
+     */
+    private void drawPolyline(GC gc, int length) {
+        if (length < 4) {
+            return;
+        }
+
+        if (length == polylinePoints.length) {
+            gc.drawPolyline(polylinePoints);
+        } else {
+            int[] points = new int[length];
+            System.arraycopy(polylinePoints, 0, points, 0, length);
+            gc.drawPolyline(points);
         }
     }
 
@@ -576,6 +665,8 @@ public class LineSeries extends Series implements ILineSeries {
         }
 
         // draw symbol and label
+        int[] xPixels = getPixelCoordinates(xAxis, xseries);
+        int[] yPixels = getPixelCoordinates(yAxis, yseries);
         for (int i = 0; i < xseries.length; i++) {
             Color color = getSymbolColor();
             if (symbolColors != null && symbolColors.length > i) {
@@ -583,11 +674,11 @@ public class LineSeries extends Series implements ILineSeries {
             }
             int h, v;
             if (xAxis.isHorizontalAxis()) {
-                h = xAxis.getPixelCoordinate(xseries[i]);
-                v = yAxis.getPixelCoordinate(yseries[i]);
+                h = xPixels[i];
+                v = yPixels[i];
             } else {
-                v = xAxis.getPixelCoordinate(xseries[i]);
-                h = yAxis.getPixelCoordinate(yseries[i]);
+                v = xPixels[i];
+                h = yPixels[i];
             }
             if (getSymbolType() != PlotSymbolType.NONE) {
                 drawSeriesSymbol(gc, h, v, color);
@@ -6,6 +6,9 @@
  *******************************************************************************/
 package org.swtchart.internal.series;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -19,11 +22,25 @@ import org.swtchart.IAxis;
 import org.swtchart.IDisposeListener;
 import org.swtchart.IErrorBar;
 import org.swtchart.ISeries;
+import org.swtchart.ISeriesDataProvider;
 import org.swtchart.ISeriesLabel;
+import org.swtchart.ISharedXSeries;
 import org.swtchart.Range;
 import org.swtchart.IAxis.Direction;
+import org.swtchart.compress.CompressorRegistry;
+import org.swtchart.compress.ICompress;
+import org.swtchart.compress.ICompressorFactory;
 import org.swtchart.internal.axis.Axis;
-import org.swtchart.internal.compress.ICompress;
+import org.swtchart.internal.buffer.ArraySeriesBuffer;
+import org.swtchart.internal.buffer.DoubleBufferSeriesBuffer;
+import org.swtchart.internal.buffer.FloatSeriesBuffer;
+import org.swtchart.internal.buffer.IndexSeriesBuffer;
+import org.swtchart.internal.buffer.MappedSeriesBuffer;
+import org.swtchart.internal.buffer.RingSeriesBuffer;
+import org.swtchart.internal.buffer.SeriesBuffer;
+import org.swtchart.internal.buffer.ShortSeriesBuffer;
+import org.swtchart.internal.compress.Compress;
+import org.swtchart.internal.compress.CompressDataProvider;
 
 /**
  * Series.
@@ -34,10 +51,22 @@ abstract public class Series implements ISeries {
     protected static final SeriesType DEFAULT_SERIES_TYPE = SeriesType.LINE;
 
     /** the x series */
-    protected double[] xSeries;
+    protected SeriesBuffer xSeries;
 
     /** the y series */
-    protected double[] ySeries;
+    protected SeriesBuffer ySeries;
+
+    /** the capacity of series for appended plots, or 0 if unlimited */
+    protected int capacity;
+
+    /** the precision of values stored in y series */
+    protected StoragePrecision storagePrecision;
+
+    /** the scale to quantize y series into short */
+    protected double quantizationScale;
+
+    /** the offset to quantize y series into short */
+    protected double quantizationOffset;
 
     /** the minimum value of x series */
     protected double minX;
@@ -57,6 +86,12 @@ abstract public class Series implements ISeries {
     /** the compressor */
     protected ICompress compressor;
 
+    /** the compressor id, or <tt>null</tt> for the default compressor */
+    protected String compressorId;
+
+    /** the state indicating if the compressor is created from registry */
+    private boolean isRegisteredCompressor;
+
     /** the x axis id */
     protected int xAxisId;
 
@@ -93,9 +128,18 @@ abstract public class Series implements ISeries {
     /** the state indicating if the type of X series is <tt>Date</tt> */
     private boolean isDateSeries;
 
+    /** the shared X series attached to this series */
+    private SharedXSeries sharedXSeries;
+
+    /** the data provider, or <tt>null</tt> if series is held in memory */
+    private ISeriesDataProvider dataProvider;
+
     /** the list of dispose listeners */
     private List<IDisposeListener> listeners;
 
+    /** the revision incremented whenever the drawn series is changed */
+    private int revision;
+
     /**
      * Constructor.
      * 
@@ -115,6 +159,9 @@ abstract public class Series implements ISeries {
         type = DEFAULT_SERIES_TYPE;
         stackEnabled = false;
         isXMonotoneIncreasing = true;
+        storagePrecision = StoragePrecision.DOUBLE;
+        quantizationScale = 1;
+        quantizationOffset = 0;
         seriesLabel = new SeriesLabel();
         xErrorBar = new ErrorBar();
         yErrorBar = new ErrorBar();
@@ -190,37 +237,115 @@ abstract public class Series implements ISeries {
             return; // to suppress warning...
         }
 
-        xSeries = new double[series.length];
-        System.arraycopy(series, 0, xSeries, 0, series.length);
+        double[] copiedSeries = new double[series.length];
+        System.arraycopy(series, 0, copiedSeries, 0, series.length);
         isDateSeries = false;
+        setXSeries(new ArraySeriesBuffer(copiedSeries));
+    }
 
-        if (xSeries.length == 0) {
+    /*
+     * @see ISeries#setSharedXSeries(ISharedXSeries)
+     */
+    public void setSharedXSeries(ISharedXSeries series) {
+        if (series == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
+        }
+        if (!(series instanceof SharedXSeries)
+                || ((SharedXSeries) series).getSeriesSet() != chart
+                        .getSeriesSet()) {
+            throw new IllegalArgumentException(
+                    "Shared X series was created for another chart.");
+        }
+        if (sharedXSeries == series) {
             return;
         }
 
-        // find the min and max value of x series
-        minX = xSeries[0];
-        maxX = xSeries[0];
-        for (int i = 1; i < xSeries.length; i++) {
-            if (minX > xSeries[i]) {
-                minX = xSeries[i];
-            }
-            if (maxX < xSeries[i]) {
-                maxX = xSeries[i];
-            }
+        detachSharedXSeries();
+        sharedXSeries = (SharedXSeries) series;
+        sharedXSeries.attach(this);
+        isDateSeries = false;
+        setXSeries(sharedXSeries.getSeriesBuffer());
+    }
 
-            if (xSeries[i - 1] > xSeries[i]) {
-                isXMonotoneIncreasing = false;
-            }
+    /*
+     * @see ISeries#getSharedXSeries()
+     */
+    public ISharedXSeries getSharedXSeries() {
+        return sharedXSeries;
+    }
+
+    /**
+     * Notifies that the values of the attached shared X series are replaced.
+     */
+    protected void sharedXSeriesChanged() {
+        setXSeries(sharedXSeries.getSeriesBuffer());
+    }
+
+    /**
+     * Detaches the shared X series if attached.
+     */
+    private void detachSharedXSeries() {
+        if (sharedXSeries != null) {
+            sharedXSeries.detach(this);
+            sharedXSeries = null;
         }
+    }
 
-        setCompressor();
+    /*
+     * @see ISeries#bindXSeries(DoubleBuffer)
+     */
+    public void bindXSeries(DoubleBuffer series) {
+        if (series == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
+        }
 
-        compressor.setXSeries(xSeries);
-        if (ySeries != null) {
-            compressor.setYSeries(ySeries);
+        isDateSeries = false;
+        setXSeries(new DoubleBufferSeriesBuffer(series));
+    }
+
+    /*
+     * @see ISeries#mapXSeries(File, FileFormat)
+     */
+    public void mapXSeries(File file, FileFormat format) throws IOException {
+        if (file == null || format == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
         }
 
+        SeriesBuffer series = new MappedSeriesBuffer(file, format);
+        isDateSeries = false;
+        setXSeries(series);
+    }
+
+    /**
+     * Sets the X series held in the given series buffer.
+     * 
+     * @param series
+     *            the X series
+     */
+    private void setXSeries(SeriesBuffer series) {
+        removeDataProvider();
+        if (sharedXSeries != null
+                && series != sharedXSeries.getSeriesBuffer()) {
+            detachSharedXSeries();
+        }
+        xSeries = series;
+
+        if (xSeries.size() == 0) {
+            return;
+        }
+
+        // find the min and max value of x series
+        minX = xSeries.getMin();
+        maxX = xSeries.getMax();
+        isXMonotoneIncreasing = xSeries.isMonotoneIncreasing();
+
+        selectCompressor();
+
+        setCompressorSeries();
+
         if (minX <= 0) {
             IAxis axis = chart.getAxisSet().getXAxis(xAxisId);
             if (axis != null) {
@@ -237,10 +362,7 @@ abstract public class Series implements ISeries {
             return null;
         }
 
-        double[] copiedSeries = new double[xSeries.length];
-        System.arraycopy(xSeries, 0, copiedSeries, 0, xSeries.length);
-
-        return copiedSeries;
+        return xSeries.toArray();
     }
 
     /*
@@ -253,40 +375,271 @@ abstract public class Series implements ISeries {
             return; // to suppress warning...
         }
 
-        ySeries = new double[series.length];
-        System.arraycopy(series, 0, ySeries, 0, series.length);
+        setYSeries(createYSeriesBuffer(series));
+    }
+
+    /**
+     * Creates the series buffer holding the copy of given Y series with the
+     * storage precision.
+     * 
+     * @param series
+     *            the Y series
+     * @return the series buffer
+     */
+    private SeriesBuffer createYSeriesBuffer(double[] series) {
+        if (storagePrecision == StoragePrecision.FLOAT) {
+            return new FloatSeriesBuffer(series);
+        }
+        if (storagePrecision == StoragePrecision.SHORT) {
+            return new ShortSeriesBuffer(series, quantizationScale,
+                    quantizationOffset);
+        }
+
+        double[] copiedSeries = new double[series.length];
+        System.arraycopy(series, 0, copiedSeries, 0, series.length);
+        return new ArraySeriesBuffer(copiedSeries);
+    }
+
+    /*
+     * @see ISeries#bindYSeries(DoubleBuffer)
+     */
+    public void bindYSeries(DoubleBuffer series) {
+        if (series == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
+        }
+
+        setYSeries(new DoubleBufferSeriesBuffer(series));
+    }
 
-        if (ySeries.length == 0) {
+    /*
+     * @see ISeries#mapYSeries(File, FileFormat)
+     */
+    public void mapYSeries(File file, FileFormat format) throws IOException {
+        if (file == null || format == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
+        }
+
+        setYSeries(new MappedSeriesBuffer(file, format));
+    }
+
+    /**
+     * Sets the Y series held in the given series buffer.
+     * 
+     * @param series
+     *            the Y series
+     */
+    private void setYSeries(SeriesBuffer series) {
+        removeDataProvider();
+        ySeries = series;
+
+        if (ySeries.size() == 0) {
             return;
         }
 
         // find the min and max value of y series
-        minY = ySeries[0];
-        maxY = ySeries[0];
-        for (int i = 1; i < ySeries.length; i++) {
-            if (minY > ySeries[i]) {
-                minY = ySeries[i];
-            }
-            if (maxY < ySeries[i]) {
-                maxY = ySeries[i];
+        minY = ySeries.getMin();
+        maxY = ySeries.getMax();
+
+        if (xSeries == null || xSeries.size() != series.size()) {
+            detachSharedXSeries();
+            if (series.hasArray()) {
+                double[] indexes = new double[series.size()];
+                for (int i = 0; i < indexes.length; i++) {
+                    indexes[i] = i;
+                }
+                xSeries = new ArraySeriesBuffer(indexes);
+            } else {
+                // don't allocate X series on heap for Y series out of heap
+                xSeries = new IndexSeriesBuffer(series.size());
             }
+            minX = xSeries.get(0);
+            maxX = xSeries.get(xSeries.size() - 1);
+            isXMonotoneIncreasing = true;
+        }
+
+        selectCompressor();
+
+        setCompressorSeries();
+
+        disableLogScaleForNonPositiveValues();
+    }
+
+    /*
+     * @see ISeries#getYSeries()
+     */
+    public double[] getYSeries() {
+        if (ySeries == null) {
+            return null;
+        }
+
+        return ySeries.toArray();
+    }
+
+    /*
+     * @see ISeries#appendXYSeries(double[], double[])
+     */
+    public void appendXYSeries(double[] xSeries, double[] ySeries) {
+        if (xSeries == null || ySeries == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
+        }
+        if (xSeries.length != ySeries.length) {
+            throw new IllegalArgumentException(
+                    "X and Y series must have the same length.");
+        }
+        if (xSeries.length == 0) {
+            return;
+        }
+
+        // the series set with arrays are copied into ring buffers only once
+        boolean replaced = !(this.xSeries instanceof RingSeriesBuffer)
+                || !(this.ySeries instanceof RingSeriesBuffer);
+        if (replaced) {
+            setRingBuffers();
+        }
+
+        int discarded = ((RingSeriesBuffer) this.xSeries).append(xSeries, 0,
+                xSeries.length);
+        ((RingSeriesBuffer) this.ySeries).append(ySeries, 0, ySeries.length);
+
+        minX = this.xSeries.getMin();
+        maxX = this.xSeries.getMax();
+        minY = this.ySeries.getMin();
+        maxY = this.ySeries.getMax();
+        isXMonotoneIncreasing = this.xSeries.isMonotoneIncreasing();
+
+        ICompress oldCompressor = compressor;
+        selectCompressor();
+        if (!replaced && compressor == oldCompressor
+                && compressor instanceof Compress) {
+            ((Compress) compressor).seriesAppended(discarded);
+            newRevision();
+        } else {
+            setCompressorSeries();
         }
 
-        if (xSeries == null || xSeries.length != series.length) {
-            xSeries = new double[series.length];
-            for (int i = 0; i < series.length; i++) {
-                xSeries[i] = i;
+        disableLogScaleForNonPositiveValues();
+
+        ((SeriesSet) chart.getSeriesSet()).compressSeries(this);
+    }
+
+    /*
+     * @see ISeries#setDataProvider(ISeriesDataProvider)
+     */
+    public void setDataProvider(ISeriesDataProvider provider) {
+        if (provider == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
+        }
+        if (dataProvider == provider) {
+            return;
+        }
+
+        detachSharedXSeries();
+        dataProvider = provider;
+        isDateSeries = false;
+        isXMonotoneIncreasing = true;
+        compressor = new CompressDataProvider(provider);
+        setProvidedSeries();
+        setProvidedRange();
+        newRevision();
+    }
+
+    /*
+     * @see ISeries#getDataProvider()
+     */
+    public ISeriesDataProvider getDataProvider() {
+        return dataProvider;
+    }
+
+    /**
+     * Sets the X and Y series to the plots provided by the last compression,
+     * so that the compressed series indexes refer to them.
+     */
+    protected void setProvidedSeries() {
+        if (dataProvider != null) {
+            SeriesBuffer providedXSeries = ((CompressDataProvider) compressor)
+                    .getXSeries();
+            SeriesBuffer providedYSeries = ((CompressDataProvider) compressor)
+                    .getYSeries();
+            if (xSeries != providedXSeries || ySeries != providedYSeries) {
+                xSeries = providedXSeries;
+                ySeries = providedYSeries;
+                newRevision();
             }
-            minX = xSeries[0];
-            maxX = xSeries[xSeries.length - 1];
-            isXMonotoneIncreasing = true;
         }
+    }
 
-        setCompressor();
+    /**
+     * Sets the range of series to the range given by the data provider.
+     */
+    private void setProvidedRange() {
+        Range xRange = dataProvider.getXRange();
+        Range yRange = dataProvider.getYRange();
+        minX = xRange.lower;
+        maxX = xRange.upper;
+        minY = yRange.lower;
+        maxY = yRange.upper;
+
+        disableLogScaleForNonPositiveValues();
+    }
 
-        compressor.setXSeries(xSeries);
-        compressor.setYSeries(ySeries);
+    /**
+     * Removes the data provider if set, and selects the compressor for the
+     * series held in memory.
+     */
+    private void removeDataProvider() {
+        if (dataProvider != null) {
+            dataProvider = null;
+            compressor = null;
+            selectCompressor();
+        }
+    }
+
+    /*
+     * @see ISeries#invalidate()
+     */
+    public void invalidate() {
+        if (dataProvider != null) {
+            ((CompressDataProvider) compressor).invalidate();
+            setProvidedRange();
+            newRevision();
+            ((SeriesSet) chart.getSeriesSet()).compressAllSeries();
+            return;
+        }
 
+        if (xSeries == null || ySeries == null) {
+            return;
+        }
+
+        xSeries.invalidate();
+        ySeries.invalidate();
+        if (xSeries.size() == 0 || ySeries.size() == 0) {
+            return;
+        }
+
+        minX = xSeries.getMin();
+        maxX = xSeries.getMax();
+        minY = ySeries.getMin();
+        maxY = ySeries.getMax();
+        isXMonotoneIncreasing = xSeries.isMonotoneIncreasing();
+
+        selectCompressor();
+        setCompressorSeries();
+
+        disableLogScaleForNonPositiveValues();
+
+        ((SeriesSet) chart.getSeriesSet()).compressAllSeries();
+    }
+
+    /**
+     * Disables the log scale of axes if series contains the values which are
+     * not positive. The stack is also disabled if Y series contains such
+     * values.
+     */
+    private void disableLogScaleForNonPositiveValues() {
         if (minX <= 0) {
             IAxis axis = chart.getAxisSet().getXAxis(xAxisId);
             if (axis != null) {
@@ -303,17 +656,153 @@ abstract public class Series implements ISeries {
     }
 
     /*
-     * @see ISeries#getYSeries()
+     * @see ISeries#setCapacity(int)
      */
-    public double[] getYSeries() {
-        if (ySeries == null) {
-            return null;
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "Capacity cannot be negative value.");
+        }
+        if (this.capacity == capacity) {
+            return;
+        }
+
+        this.capacity = capacity;
+        if (xSeries instanceof RingSeriesBuffer
+                && ySeries instanceof RingSeriesBuffer) {
+            setRingBuffers();
+            selectCompressor();
+            setCompressorSeries();
+        }
+    }
+
+    /*
+     * @see ISeries#getCapacity()
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /*
+     * @see ISeries#setStoragePrecision(StoragePrecision)
+     */
+    public void setStoragePrecision(StoragePrecision precision) {
+        if (precision == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
+        }
+        if (storagePrecision == precision) {
+            return;
+        }
+
+        storagePrecision = precision;
+        storeYSeriesAgain();
+    }
+
+    /*
+     * @see ISeries#getStoragePrecision()
+     */
+    public StoragePrecision getStoragePrecision() {
+        return storagePrecision;
+    }
+
+    /*
+     * @see ISeries#setQuantization(double, double)
+     */
+    public void setQuantization(double scale, double offset) {
+        if (!(scale > 0) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("Scale must be positive value.");
+        }
+        if (quantizationScale == scale && quantizationOffset == offset) {
+            return;
         }
 
-        double[] copiedSeries = new double[ySeries.length];
-        System.arraycopy(ySeries, 0, copiedSeries, 0, ySeries.length);
+        quantizationScale = scale;
+        quantizationOffset = offset;
+        if (storagePrecision == StoragePrecision.SHORT) {
+            storeYSeriesAgain();
+        }
+    }
 
-        return copiedSeries;
+    /*
+     * @see ISeries#getQuantizationScale()
+     */
+    public double getQuantizationScale() {
+        return quantizationScale;
+    }
+
+    /*
+     * @see ISeries#getQuantizationOffset()
+     */
+    public double getQuantizationOffset() {
+        return quantizationOffset;
+    }
+
+    /**
+     * Stores the Y series held in full precision again with the storage
+     * precision. The series already stored with lower precision are kept as
+     * they are, since the values lost by rounding cannot be recovered, and
+     * the new precision is applied to the Y series set next time. The series
+     * bound to buffer, mapped to file, or held in ring buffer are also kept
+     * as they are.
+     */
+    private void storeYSeriesAgain() {
+        if (dataProvider == null && ySeries instanceof ArraySeriesBuffer
+                && storagePrecision != StoragePrecision.DOUBLE) {
+            setYSeries(createYSeriesBuffer(ySeries.toArray()));
+        }
+    }
+
+    /**
+     * Replaces the X and Y series with the ring buffers of the capacity,
+     * keeping the latest plots fitting in the capacity.
+     */
+    private void setRingBuffers() {
+        detachSharedXSeries();
+        removeDataProvider();
+
+        RingSeriesBuffer xBuffer = new RingSeriesBuffer(capacity);
+        RingSeriesBuffer yBuffer = new RingSeriesBuffer(capacity);
+        int size = (xSeries == null || ySeries == null) ? 0 : Math.min(
+                xSeries.size(), ySeries.size());
+        int length = (capacity == 0) ? size : Math.min(size, capacity);
+        if (length > 0) {
+            xBuffer.append(xSeries.toArray(size - length, length), 0, length);
+            yBuffer.append(ySeries.toArray(size - length, length), 0, length);
+        }
+        xSeries = xBuffer;
+        ySeries = yBuffer;
+
+        if (length > 0) {
+            minX = xSeries.getMin();
+            maxX = xSeries.getMax();
+            minY = ySeries.getMin();
+            maxY = ySeries.getMax();
+            isXMonotoneIncreasing = xSeries.isMonotoneIncreasing();
+        }
+    }
+
+    /**
+     * Sets the X and Y series to the compressor. The series are shared with
+     * the compressor without being copied if possible.
+     */
+    protected void setCompressorSeries() {
+        if (xSeries == null || dataProvider != null) {
+            return;
+        }
+        newRevision();
+
+        if (compressor instanceof Compress) {
+            ((Compress) compressor).setXSeries(xSeries);
+            if (ySeries != null) {
+                ((Compress) compressor).setYSeries(ySeries);
+            }
+        } else {
+            compressor.setXSeries(xSeries.toArray());
+            if (ySeries != null) {
+                compressor.setYSeries(ySeries.toArray());
+            }
+        }
     }
 
     /*
@@ -341,9 +830,9 @@ abstract public class Series implements ISeries {
             return null;
         }
 
-        Date[] series = new Date[xSeries.length];
+        Date[] series = new Date[xSeries.size()];
         for (int i = 0; i < series.length; i++) {
-            series[i] = new Date((long) xSeries[i]);
+            series[i] = new Date((long) xSeries.get(i));
         }
         return series;
     }
@@ -392,6 +881,21 @@ abstract public class Series implements ISeries {
      */
     abstract public Range getAdjustedRange(Axis axis, int length);
 
+    /**
+     * Gets the adjusted range to show the given Y range of series in screen.
+     * This range includes the size of plot like symbol or bar.
+     * 
+     * @param axis
+     *            the Y axis
+     * @param length
+     *            the axis length in pixels
+     * @param range
+     *            the Y range of series, e.g. the range of plots in X range
+     * @return the adjusted range
+     */
+    abstract public Range getAdjustedYRange(Axis axis, int length,
+            Range range);
+
     /**
      * Gets the Y range of series.
      * 
@@ -411,6 +915,102 @@ abstract public class Series implements ISeries {
         return new Range(min, max);
     }
 
+    /**
+     * Gets the Y range of the plots in the given X range.
+     * <p>
+     * If X axis is a category axis, the given X range is regarded as the range
+     * of series indexes. If X series is monotone increasing, the plots in X
+     * range are found with binary search. In both cases, the minimum and
+     * maximum values are found with the min/max index of Y series, so that the
+     * cost is proportional to the logarithm of the number of plots. The plots
+     * in range of Y series mapped from file are scanned instead unless the
+     * index is already built, since the index is held on heap. Otherwise, all
+     * plots are scanned.
+     * 
+     * @param xLower
+     *            the lower value of X range
+     * @param xUpper
+     *            the upper value of X range
+     * @return the Y range, or <tt>null</tt> if there is no plot in the X
+     *         range
+     */
+    public Range getYRange(double xLower, double xUpper) {
+        if (xSeries == null || ySeries == null) {
+            return null;
+        }
+
+        int length = Math.min(xSeries.size(), ySeries.size());
+        double min = Double.NaN;
+        double max = Double.NaN;
+        Axis xAxis = (Axis) chart.getAxisSet().getXAxis(xAxisId);
+        boolean isCategory = xAxis != null && xAxis.isValidCategoryAxis();
+        if (isCategory || isXMonotoneIncreasing) {
+            int start;
+            int end;
+            if (isCategory) {
+                // the range of category axis is given with series indexes
+                start = (int) Math.max(0, Math.ceil(xLower));
+                end = (int) Math.min(Math.floor(xUpper) + 1, length);
+            } else {
+                start = xSeries.getFirstIndexNotLessThan(xLower);
+                end = Math.min(xSeries.getFirstIndexGreaterThan(xUpper),
+                        length);
+            }
+            if (start >= end) {
+                return null;
+            }
+            if (ySeries instanceof MappedSeriesBuffer
+                    && !ySeries.hasMinMaxPyramid()) {
+                // don't build the min/max index on heap for mapped file
+                for (int i = start; i < end; i++) {
+                    double y = ySeries.get(i);
+                    if (Double.isNaN(y)) {
+                        continue;
+                    }
+                    if (Double.isNaN(min) || y < min) {
+                        min = y;
+                    }
+                    if (Double.isNaN(max) || y > max) {
+                        max = y;
+                    }
+                }
+            } else {
+                int[] indexes = new int[2];
+                ySeries.getMinMaxPyramid().getMinMaxIndexes(start, end,
+                        indexes);
+                min = ySeries.get(indexes[0]);
+                max = ySeries.get(indexes[1]);
+            }
+
+            if (isValidStackSeries() && isCategory) {
+                for (int i = start; i < end && i < stackSeries.length; i++) {
+                    if (max < stackSeries[i]) {
+                        max = stackSeries[i];
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                double x = xSeries.get(i);
+                double y = ySeries.get(i);
+                if (x < xLower || x > xUpper || Double.isNaN(y)) {
+                    continue;
+                }
+                if (Double.isNaN(min) || y < min) {
+                    min = y;
+                }
+                if (Double.isNaN(max) || y > max) {
+                    max = y;
+                }
+            }
+        }
+
+        if (Double.isNaN(min) || Double.isNaN(max)) {
+            return null;
+        }
+        return new Range(min, max);
+    }
+
     /**
      * Gets the compressor.
      * 
@@ -425,6 +1025,84 @@ abstract public class Series implements ISeries {
      */
     abstract protected void setCompressor();
 
+    /**
+     * Selects the compressor given by the compressor id, or the default
+     * compressor given by <tt>setCompressor()</tt> if the id is not set or X
+     * series is not monotone increasing.
+     * <p>
+     * This has to be called whenever the series are changed, since the
+     * compressors in registry find the plots in X range with binary search.
+     */
+    private void selectCompressor() {
+        if (dataProvider != null) {
+            return;
+        }
+
+        if (compressorId != null && isXMonotoneIncreasing) {
+            if (compressor != null && isRegisteredCompressor) {
+                return;
+            }
+            ICompressorFactory factory = CompressorRegistry
+                    .getFactory(compressorId);
+            if (factory != null) {
+                compressor = factory.createCompressor(this);
+                isRegisteredCompressor = true;
+                return;
+            }
+        }
+
+        if (isRegisteredCompressor) {
+            compressor = null;
+            isRegisteredCompressor = false;
+        }
+        setCompressor();
+    }
+
+    /*
+     * @see ISeries#setCompressorId(String)
+     */
+    public void setCompressorId(String id) {
+        if (id == null ? compressorId == null : id.equals(compressorId)) {
+            return;
+        }
+        if (id != null && CompressorRegistry.getFactory(id) == null) {
+            throw new IllegalArgumentException(
+                    "Given compressor id doesn't exist");
+        }
+
+        compressorId = id;
+        if (dataProvider == null) {
+            compressor = null;
+            updateCompressor();
+        }
+    }
+
+    /*
+     * @see ISeries#getCompressorId()
+     */
+    public String getCompressorId() {
+        return compressorId;
+    }
+
+    /**
+     * Updates the compressor with the one given by <tt>selectCompressor()</tt>,
+     * and compresses the series again if the compressor is replaced.
+     */
+    protected void updateCompressor() {
+        ICompress oldCompressor = compressor;
+        selectCompressor();
+        if (compressor == oldCompressor || xSeries == null || ySeries == null) {
+            return;
+        }
+
+        setCompressorSeries();
+
+        Axis xAxis = (Axis) chart.getAxisSet().getXAxis(xAxisId);
+        if (xAxis != null) {
+            ((SeriesSet) chart.getSeriesSet()).updateCompressor(xAxis);
+        }
+    }
+
     /*
      * @see ISeries#getXAxisId()
      */
@@ -463,6 +1141,7 @@ abstract public class Series implements ISeries {
      */
     public void setYAxisId(int id) {
         yAxisId = id;
+        newRevision();
     }
 
     /*
@@ -496,6 +1175,26 @@ abstract public class Series implements ISeries {
         this.stackSeries = stackSeries;
     }
 
+    /**
+     * Gets the revision, which is incremented whenever the drawn series is
+     * changed, e.g. the series is set, appended or invalidated, the style is
+     * changed, or the stack and riser are updated. The changes of series
+     * label and error bars are also reflected.
+     * 
+     * @return the revision
+     */
+    public int getRevision() {
+        return revision + seriesLabel.getRevision() + xErrorBar.getRevision()
+                + yErrorBar.getRevision();
+    }
+
+    /**
+     * Increments the revision to notify that the drawn series is changed.
+     */
+    protected void newRevision() {
+        revision++;
+    }
+
     /*
      * @see ISeries#getPixelCoordinates(int)
      */
@@ -536,11 +1235,11 @@ abstract public class Series implements ISeries {
             if (axis.isCategoryEnabled()) {
                 dataCoordinate = index;
             } else {
-                if (index < 0 || xSeries.length <= index) {
+                if (index < 0 || xSeries.size() <= index) {
                     throw new IllegalArgumentException(
                             "Series index is out of range."); //$NON-NLS-1$
                 }
-                dataCoordinate = xSeries[index];
+                dataCoordinate = xSeries.get(index);
             }
         } else if (axis.getDirection() == Direction.Y) {
             if (isValidStackSeries()) {
@@ -550,11 +1249,11 @@ abstract public class Series implements ISeries {
                 }
                 dataCoordinate = stackSeries[index];
             } else {
-                if (index < 0 || ySeries.length <= index) {
+                if (index < 0 || ySeries.size() <= index) {
                     throw new IllegalArgumentException(
                             "Series index is out of range."); //$NON-NLS-1$
                 }
-                dataCoordinate = ySeries[index];
+                dataCoordinate = ySeries.get(index);
             }
         } else {
             throw new IllegalStateException("unknown axis direction"); //$NON-NLS-1$
@@ -564,6 +1263,23 @@ abstract public class Series implements ISeries {
         return axis.getPixelCoordinate(dataCoordinate);
     }
 
+    /**
+     * Gets the pixel coordinates corresponding to the given data coordinates
+     * on the given axis.
+     * 
+     * @param axis
+     *            the axis
+     * @param series
+     *            the data coordinates
+     * @return the pixel coordinates on plot area
+     */
+    protected static int[] getPixelCoordinates(Axis axis, double[] series) {
+        int[] pixelCoordinates = new int[series.length];
+        axis.getCoordinateTransform().getPixelCoordinates(series,
+                pixelCoordinates, series.length);
+        return pixelCoordinates;
+    }
+
     /**
      * Gets the range with given margin.
      * 
@@ -604,6 +1320,7 @@ abstract public class Series implements ISeries {
      * Disposes SWT resources.
      */
     protected void dispose() {
+        detachSharedXSeries();
         for (IDisposeListener listener : listeners) {
             listener.disposed(new Event());
         }
@@ -629,8 +1346,8 @@ abstract public class Series implements ISeries {
     public void draw(GC gc, int width, int height) {
 
         if (!visible || width < 0 || height < 0 || xSeries == null
-                || xSeries.length == 0 || ySeries == null
-                || ySeries.length == 0) {
+                || xSeries.size() == 0 || ySeries == null
+                || ySeries.size() == 0) {
             return;
         }
 
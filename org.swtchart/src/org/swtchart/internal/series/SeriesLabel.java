@@ -37,6 +37,9 @@ public class SeriesLabel implements ISeriesLabel {
     /** the formats for series labels */
     private String[] formats;
 
+    /** the revision incremented whenever the series label is changed */
+    private int revision;
+
     /** the default label color */
     private static final int DEFAULT_COLOR = SWT.COLOR_BLACK;
 
@@ -73,6 +76,7 @@ public class SeriesLabel implements ISeriesLabel {
         } else {
             this.format = format;
         }
+        revision++;
     }
 
     /*
@@ -95,11 +99,13 @@ public class SeriesLabel implements ISeriesLabel {
     public void setFormats(String[] formats) {
         if (formats == null) {
             this.formats = null;
+            revision++;
             return;
         }
 
         this.formats = new String[formats.length];
         System.arraycopy(formats, 0, this.formats, 0, formats.length);
+        revision++;
     }
 
     /*
@@ -122,6 +128,7 @@ public class SeriesLabel implements ISeriesLabel {
         } else {
             this.color = color;
         }
+        revision++;
     }
 
     /*
@@ -146,6 +153,7 @@ public class SeriesLabel implements ISeriesLabel {
         } else {
             this.font = font;
         }
+        revision++;
     }
 
     /*
@@ -160,6 +168,16 @@ public class SeriesLabel implements ISeriesLabel {
      */
     public void setVisible(boolean visible) {
         this.isVisible = visible;
+        revision++;
+    }
+
+    /**
+     * Gets the revision, which is incremented whenever the series label is changed.
+     * 
+     * @return the revision
+     */
+    public int getRevision() {
+        return revision;
     }
 
     /**
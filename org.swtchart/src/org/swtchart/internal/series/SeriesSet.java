@@ -7,7 +7,11 @@
 package org.swtchart.internal.series;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
 import java.util.Map.Entry;
 
@@ -17,12 +21,17 @@ import org.swtchart.Chart;
 import org.swtchart.IAxis;
 import org.swtchart.ISeries;
 import org.swtchart.ISeriesSet;
+import org.swtchart.ISharedXSeries;
 import org.swtchart.Range;
 import org.swtchart.IAxis.Direction;
 import org.swtchart.ISeries.SeriesType;
+import org.swtchart.compress.CompressConfig;
+import org.swtchart.compress.ICompress;
+import org.swtchart.internal.compress.Compress;
+import org.swtchart.internal.compress.CompressAll;
+import org.swtchart.internal.compress.CompressDataProvider;
 import org.swtchart.internal.axis.Axis;
-import org.swtchart.internal.compress.CompressConfig;
-import org.swtchart.internal.compress.ICompress;
+import org.swtchart.internal.axis.AxisSet;
 
 /**
  * A series container.
@@ -35,6 +44,12 @@ public class SeriesSet implements ISeriesSet {
     /** the series */
     private LinkedHashMap<String, Series> seriesMap;
 
+    /** the state indicating if the axis ranges are being adjusted */
+    private boolean isAdjustingRange;
+
+    /** the state indicating if compressing series is deferred */
+    private boolean compressDeferred;
+
     /**
      * Constructor.
      * 
@@ -95,6 +110,18 @@ public class SeriesSet implements ISeriesSet {
         return series;
     }
 
+    /*
+     * @see ISeriesSet#createSharedXSeries(double[])
+     */
+    public ISharedXSeries createSharedXSeries(double[] series) {
+        if (series == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return null; // to suppress warning...
+        }
+
+        return new SharedXSeries(this, series);
+    }
+
     /*
      * @see ISeriesSet#getSeries(String)
      */
@@ -249,22 +276,99 @@ public class SeriesSet implements ISeriesSet {
     }
 
     /**
-     * Compresses all series data.
+     * Compresses all series data. If compressing series is disabled, the
+     * series are only clipped to the X range of axis. The ranges of axes
+     * whose automatic adjustment is enabled are adjusted beforehand.
+     * <p>
+     * Compressing series is deferred while a batch of updates begun with
+     * <tt>Chart.beginUpdate()</tt> is in progress.
      */
     public void compressAllSeries() {
-        if (!chart.isCompressEnabled()) {
+        if (chart.isUpdating()) {
+            compressDeferred = true;
             return;
         }
+        compressDeferred = false;
+
+        AxisSet axisSet = (AxisSet) chart.getAxisSet();
+        if (!isAdjustingRange && axisSet != null) {
+            isAdjustingRange = true;
+            try {
+                if (axisSet.adjustAutoRanges()) {
+                    chart.updateLayout();
+                }
+            } finally {
+                isAdjustingRange = false;
+            }
+        }
 
-        CompressConfig config = new CompressConfig();
+        compress(seriesMap.values());
+    }
 
+    /**
+     * Compresses the given series appended with plots. The ranges of its axes
+     * are adjusted beforehand if their automatic adjustment is enabled, and
+     * all series are compressed only if the ranges are changed, so that
+     * appending plots to one of many series doesn't compress the others.
+     * <p>
+     * Compressing series is deferred while a batch of updates begun with
+     * <tt>Chart.beginUpdate()</tt> is in progress.
+     * 
+     * @param series
+     *            the series
+     */
+    public void compressSeries(Series series) {
+        if (chart.isUpdating()) {
+            compressDeferred = true;
+            return;
+        }
+
+        Axis xAxis = (Axis) chart.getAxisSet().getXAxis(series.getXAxisId());
+        Axis yAxis = (Axis) chart.getAxisSet().getYAxis(series.getYAxisId());
+        if (xAxis == null || yAxis == null) {
+            return;
+        }
+
+        boolean changed = false;
+        if (!isAdjustingRange) {
+            isAdjustingRange = true;
+            try {
+                if (xAxis.isAutoAdjustRangeEnabled()
+                        && xAxis.adjustRangeToXRange(false)) {
+                    // Y ranges of other series depend on the X range
+                    ((AxisSet) chart.getAxisSet()).adjustAutoRanges();
+                    changed = true;
+                } else if (yAxis.isAutoAdjustRangeEnabled()) {
+                    changed = yAxis.adjustRangeToXRange(false);
+                }
+            } finally {
+                isAdjustingRange = false;
+            }
+        }
+
+        if (changed) {
+            chart.updateLayout();
+            compressAllSeries();
+        } else {
+            compress(Collections.singletonList(series));
+        }
+    }
+
+    /**
+     * Compresses the given series with the current ranges of axes.
+     * 
+     * @param seriesList
+     *            the series to be compressed
+     */
+    private void compress(Collection<Series> seriesList) {
         final int PRECISION = 2;
         Point p = chart.getPlotArea().getSize();
         int width = p.x * PRECISION;
         int height = p.y * PRECISION;
-        config.setSizeInPixel(width, height);
 
-        for (ISeries series : getSeries()) {
+        List<ICompress> compressors = new ArrayList<ICompress>();
+        List<CompressConfig> configs = new ArrayList<CompressConfig>();
+        for (ISeries series : seriesList) {
             int xAxisId = series.getXAxisId();
             int yAxisId = series.getYAxisId();
 
@@ -280,6 +384,10 @@ public class SeriesSet implements ISeriesSet {
                 continue;
             }
 
+            // each compressor needs its own configuration to run in parallel
+            CompressConfig config = new CompressConfig();
+            config.setSizeInPixel(width, height);
+
             double xMin = xRange.lower;
             double xMax = xRange.upper;
             double yMin = yRange.lower;
@@ -302,7 +410,20 @@ public class SeriesSet implements ISeriesSet {
             config.setYRange(lower, upper);
 
             ICompress compressor = ((Series) series).getCompressor();
-            compressor.compress(config);
+            if (chart.isCompressEnabled()
+                    || compressor instanceof CompressDataProvider) {
+                compressors.add(compressor);
+                configs.add(config);
+            } else if (compressor instanceof Compress) {
+                ((Compress) compressor).clip(config);
+            }
+        }
+
+        CompressAll.compress(compressors, configs, chart.getCompressExecutor());
+
+        // the compressed indexes refer to the plots given by data providers
+        for (Series series : seriesList) {
+            series.setProvidedSeries();
         }
     }
 
@@ -335,13 +456,23 @@ public class SeriesSet implements ISeriesSet {
                     xSeries[i] = i;
                 }
                 compressor.setXSeries(xSeries);
-            } else if (((Series) series).getXSeries() != null) {
-                compressor.setXSeries(((Series) series).getXSeries());
+            } else {
+                ((Series) series).setCompressorSeries();
             }
         }
         compressAllSeries();
     }
 
+    /**
+     * Compresses all series if compressing them has been deferred by a batch
+     * of updates, and not yet done.
+     */
+    public void compressDeferredSeries() {
+        if (compressDeferred) {
+            compressAllSeries();
+        }
+    }
+
     /**
      * Updates the stack and riser data.
      */
@@ -352,6 +483,11 @@ public class SeriesSet implements ISeriesSet {
                 updateStackAndRiserData(xAxis, yAxis);
             }
         }
+
+        // the stack and riser of any series may be changed
+        for (Series series : seriesMap.values()) {
+            series.newRevision();
+        }
     }
 
     /**
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2011 SWTChart project. All rights reserved.
+ *
+ * This code is distributed under the terms of the Eclipse Public License v1.0
+ * which is available at http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.swtchart.internal.series;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.swtchart.ISharedXSeries;
+import org.swtchart.internal.buffer.ArraySeriesBuffer;
+import org.swtchart.internal.buffer.SeriesBuffer;
+
+/**
+ * An X series shared by multiple series.
+ */
+public class SharedXSeries implements ISharedXSeries {
+
+    /** the series set that the attached series belong to */
+    private final SeriesSet seriesSet;
+
+    /** the X series */
+    private SeriesBuffer xSeries;
+
+    /** the attached series */
+    private final List<Series> attachedSeries;
+
+    /**
+     * Constructor.
+     * 
+     * @param seriesSet
+     *            the series set that the attached series belong to
+     * @param series
+     *            the X series
+     */
+    public SharedXSeries(SeriesSet seriesSet, double[] series) {
+        this.seriesSet = seriesSet;
+        attachedSeries = new ArrayList<Series>();
+        setXSeries(series);
+    }
+
+    /*
+     * @see ISharedXSeries#setXSeries(double[])
+     */
+    public void setXSeries(double[] series) {
+        if (series == null) {
+            SWT.error(SWT.ERROR_NULL_ARGUMENT);
+            return; // to suppress warning...
+        }
+
+        double[] copiedSeries = new double[series.length];
+        System.arraycopy(series, 0, copiedSeries, 0, series.length);
+        xSeries = new ArraySeriesBuffer(copiedSeries);
+
+        for (Series attached : new ArrayList<Series>(attachedSeries)) {
+            attached.sharedXSeriesChanged();
+        }
+    }
+
+    /*
+     * @see ISharedXSeries#getXSeries()
+     */
+    public double[] getXSeries() {
+        return xSeries.toArray();
+    }
+
+    /*
+     * @see ISharedXSeries#getReferenceCount()
+     */
+    public int getReferenceCount() {
+        return attachedSeries.size();
+    }
+
+    /**
+     * Gets the series buffer holding X series, which is shared by the
+     * attached series and their compressors.
+     * 
+     * @return the X series
+     */
+    protected SeriesBuffer getSeriesBuffer() {
+        return xSeries;
+    }
+
+    /**
+     * Gets the series set that the attached series belong to.
+     * 
+     * @return the series set
+     */
+    protected SeriesSet getSeriesSet() {
+        return seriesSet;
+    }
+
+    /**
+     * Attaches the given series.
+     * 
+     * @param series
+     *            the series
+     */
+    protected void attach(Series series) {
+        attachedSeries.add(series);
+    }
+
+    /**
+     * Detaches the given series.
+     * 
+     * @param series
+     *            the series
+     */
+    protected void detach(Series series) {
+        attachedSeries.remove(series);
+    }
+}